@@ -0,0 +1,30 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.dtos.UserDTO;
+
+import java.time.LocalDate;
+
+final class BenchmarkUsers {
+    static final int DISTINCT_NAMES = 1000;
+
+    private BenchmarkUsers() {
+    }
+
+    static UserDTO createUserDTO(int index) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setName(name(index));
+        userDTO.setEmail(email(index));
+        userDTO.setGender(index % 2 == 0 ? "male" : "female");
+        userDTO.setBirthDate(LocalDate.of(1950, 1, 1).plusDays(index % 20000));
+        userDTO.setRole(index % 100 == 0 ? "admin" : "user");
+        return userDTO;
+    }
+
+    static String name(int index) {
+        return "Firstname" + (index % DISTINCT_NAMES) + " Lastname";
+    }
+
+    static String email(int index) {
+        return "user" + index + "@bench.com";
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.UserProfileApplication;
+import com.example.user_profile.dtos.BulkExportResultDTO;
+import com.example.user_profile.dtos.BulkFormat;
+import com.example.user_profile.dtos.BulkImportResultDTO;
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.repositories.UserRepository;
+import com.example.user_profile.services.UserBulkService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserBulkBenchmark {
+    private static final String IMPORT_FILE = "users.csv";
+    private static final String EXPORT_FILE = "export.ndjson";
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private UserBulkService userBulkService;
+    private UserRepository userRepository;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path directory = Path.of("build/jmh/bulk");
+        Files.createDirectories(directory);
+        writeCsv(directory.resolve(IMPORT_FILE));
+
+        File databaseFile = new File("build/jmh/bulk-users.db");
+        context = new SpringApplicationBuilder(UserProfileApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:sqlite:" + databaseFile.getPath(),
+                        "--spring.jpa.show-sql=false",
+                        "--user.bulk.directory=" + directory,
+                        "--logging.level.root=WARN"
+                );
+        userBulkService = context.getBean(UserBulkService.class);
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearUsers() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void writeCsv(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("name,email,gender,birthDate,role\n");
+            for (int i = 0; i < rows; i++) {
+                UserDTO userDTO = BenchmarkUsers.createUserDTO(i);
+                writer.write(String.join(",",
+                        userDTO.getName(),
+                        userDTO.getEmail(),
+                        userDTO.getGender(),
+                        userDTO.getBirthDate().toString(),
+                        userDTO.getRole()));
+                writer.write('\n');
+            }
+        }
+    }
+
+    @Benchmark
+    public BulkImportResultDTO importCsv() throws ServiceException {
+        return userBulkService.importUsers(IMPORT_FILE, BulkFormat.CSV);
+    }
+
+    @Benchmark
+    public BulkExportResultDTO importThenExportNdjson() throws ServiceException {
+        userBulkService.importUsers(IMPORT_FILE, BulkFormat.CSV);
+        return userBulkService.exportUsers(EXPORT_FILE, BulkFormat.NDJSON, EnumSet.allOf(UserField.class));
+    }
+}
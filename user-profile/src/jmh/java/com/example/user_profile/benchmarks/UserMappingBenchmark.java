@@ -0,0 +1,108 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.services.impl.UserServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+    @Param({"100"})
+    private int listSize;
+
+    private UserDTO userDTO;
+    private User user;
+    private List<User> users;
+    private UserView userView;
+    private List<UserView> userViews;
+    private ObjectWriter userWriter;
+    private ObjectWriter userListWriter;
+    private ObjectWriter userViewWriter;
+    private ObjectWriter userViewListWriter;
+
+    @Setup
+    public void setUp() {
+        userDTO = BenchmarkUsers.createUserDTO(1);
+        user = UserServiceImpl.copyUserDtoToUser(new User(), userDTO);
+        users = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            users.add(UserServiceImpl.copyUserDtoToUser(new User(), BenchmarkUsers.createUserDTO(i)));
+        }
+        userView = toView(user);
+        userViews = users.stream().map(UserMappingBenchmark::toView).toList();
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        userWriter = objectMapper.writerFor(User.class);
+        userListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, User.class));
+        userViewWriter = objectMapper.writerFor(UserView.class);
+        userViewListWriter = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, UserView.class)
+        );
+    }
+
+    private static UserView toView(User user) {
+        return new UserView(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getGender(),
+                user.getBirthDate(),
+                user.getRole(),
+                user.getVersion()
+        );
+    }
+
+    @Benchmark
+    public User copyUserDtoToUser() {
+        return UserServiceImpl.copyUserDtoToUser(new User(), userDTO);
+    }
+
+    @Benchmark
+    public Integer getAge() {
+        return user.getAge();
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserList() throws JsonProcessingException {
+        return userListWriter.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeUserView() throws JsonProcessingException {
+        return userViewWriter.writeValueAsBytes(userView);
+    }
+
+    @Benchmark
+    public byte[] serializeUserViewList() throws JsonProcessingException {
+        return userViewListWriter.writeValueAsBytes(userViews);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.UserProfileApplication;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserSearchDTO;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.repositories.UserRepository;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import com.example.user_profile.services.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryBenchmark {
+    private static final int SEED_CHUNK_SIZE = 5000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+    private static final Set<UserField> ALL_FIELDS = EnumSet.allOf(UserField.class);
+    private static final Set<UserField> NARROW_FIELDS = EnumSet.of(UserField.ID, UserField.NAME, UserField.EMAIL);
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private long firstId;
+    private UserSearchCriteria ageRangeCriteria;
+
+    @Setup
+    public void setUp() {
+        File databaseFile = new File("build/jmh/users-" + rows + ".db");
+        databaseFile.getParentFile().mkdirs();
+
+        context = new SpringApplicationBuilder(UserProfileApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:sqlite:" + databaseFile.getPath(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN"
+                );
+        userRepository = context.getBean(UserRepository.class);
+
+        if (userRepository.count() != rows) seed();
+        firstId = userRepository.findViewsAfter(0L, EnumSet.of(UserField.ID), 1).get(0).id();
+        ageRangeCriteria = UserServiceImpl.toSearchCriteria(ageRange(30, 40), LocalDate.now());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed() {
+        userRepository.deleteAllInBatch();
+        List<User> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(UserServiceImpl.copyUserDtoToUser(new User(), BenchmarkUsers.createUserDTO(i)));
+            if (chunk.size() == SEED_CHUNK_SIZE) {
+                userRepository.batchInsert(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) userRepository.batchInsert(chunk);
+    }
+
+    private static UserSearchDTO ageRange(int minAge, int maxAge) {
+        UserSearchDTO userSearchDTO = new UserSearchDTO();
+        userSearchDTO.setMinAge(minAge);
+        userSearchDTO.setMaxAge(maxAge);
+        return userSearchDTO;
+    }
+
+    private int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(firstId + randomIndex());
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail(BenchmarkUsers.email(randomIndex()));
+    }
+
+    @Benchmark
+    public Optional<UserView> findViewById() {
+        return userRepository.findViewById(firstId + randomIndex());
+    }
+
+    @Benchmark
+    public Slice<UserView> findViewsByName() {
+        return userRepository.findViewsByName(BenchmarkUsers.name(randomIndex()), ALL_FIELDS, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Slice<UserView> searchByNamePrefix() {
+        String prefix = "Firstname" + ThreadLocalRandom.current().nextInt(BenchmarkUsers.DISTINCT_NAMES);
+        return userRepository.search(new UserSearchCriteria(prefix, null, null, null, null), ALL_FIELDS, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Slice<UserView> searchByAgeRange() {
+        return userRepository.search(ageRangeCriteria, ALL_FIELDS, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<UserView> findViewsAfter() {
+        return userRepository.findViewsAfter(firstId + randomIndex(), ALL_FIELDS, 100);
+    }
+
+    @Benchmark
+    public List<UserView> findNarrowViewsAfter() {
+        return userRepository.findViewsAfter(firstId + randomIndex(), NARROW_FIELDS, 100);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.UserProfileApplication;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UserShardingBenchmark {
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("user-shards-");
+        context = new SpringApplicationBuilder(UserProfileApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:sqlite:" + directory.resolve("users.db"),
+                        "--spring.jpa.show-sql=false",
+                        "--user.storage.engine=sharded",
+                        "--user.storage.sharded.directory=" + directory,
+                        "--user.storage.sharded.count=" + shards,
+                        "--user.storage.sharded.pool-size=8",
+                        "--logging.level.root=WARN"
+                );
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Long createUser() throws ServiceException {
+        return userService.createUser(BenchmarkUsers.createUserDTO(nextIndex.getAndIncrement()));
+    }
+}
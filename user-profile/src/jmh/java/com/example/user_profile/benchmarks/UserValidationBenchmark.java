@@ -0,0 +1,67 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.entities.User;
+import com.example.user_profile.services.impl.UserServiceImpl;
+import com.example.user_profile.validators.UserValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+    private User user;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserValidator userValidator;
+
+    @Setup
+    public void setUp() {
+        user = UserServiceImpl.copyUserDtoToUser(new User(), BenchmarkUsers.createUserDTO(1));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        userValidator = new UserValidator(validator);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> bootstrapValidatorPerCall() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            return factory.getValidator().validate(user);
+        }
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> sharedValidator() {
+        return validator.validate(user);
+    }
+
+    @Benchmark
+    public User userValidator() {
+        userValidator.validate(user);
+        return user;
+    }
+}
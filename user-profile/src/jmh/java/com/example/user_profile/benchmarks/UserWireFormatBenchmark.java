@@ -0,0 +1,121 @@
+package com.example.user_profile.benchmarks;
+
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserView;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserWireFormatBenchmark {
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private List<UserView> users;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytesPerUser;
+        public long gzipBytesPerUser;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerUser = 0;
+            gzipBytesPerUser = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            UserDTO userDTO = BenchmarkUsers.createUserDTO(i);
+            users.add(new UserView(
+                    (long) i + 1,
+                    userDTO.getName(),
+                    userDTO.getEmail(),
+                    userDTO.getGender(),
+                    userDTO.getBirthDate(),
+                    userDTO.getRole(),
+                    0L
+            ));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper(createFactory(format))
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, UserView.class);
+        writer = objectMapper.writerFor(listType);
+        reader = objectMapper.readerFor(listType);
+        payload = writer.writeValueAsBytes(users);
+    }
+
+    private static JsonFactory createFactory(String format) {
+        return switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize payloadSize) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(users);
+        payloadSize.bytesPerUser = bytes.length / pageSize;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] serializeGzip(PayloadSize payloadSize) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            writer.writeValue(gzipOutputStream, users);
+        }
+        byte[] bytes = outputStream.toByteArray();
+        payloadSize.gzipBytesPerUser = bytes.length / pageSize;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<UserView> deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.user_profile.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+final class LoadMix {
+    static final String DEFAULT = "getById=40,getByEmail=20,searchByName=20,create=10,update=7,delete=3";
+
+    private final Map<LoadOperation, Integer> weights;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private LoadMix(Map<LoadOperation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(LoadOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) throw new IllegalArgumentException("Mix needs at least one positive weight");
+    }
+
+    static LoadMix parse(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Expected operation=weight but got " + entry);
+
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            if (weight > 0) weights.put(LoadOperation.fromKey(parts[0].trim()), weight);
+        }
+        return new LoadMix(weights);
+    }
+
+    LoadOperation pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!mix.isEmpty()) mix.append(',');
+            mix.append(operation.getKey()).append('=').append(weight);
+        });
+        return mix.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.user_profile.load;
+
+import java.util.Arrays;
+
+enum LoadOperation {
+    GET_BY_ID("getById"),
+    GET_BY_EMAIL("getByEmail"),
+    SEARCH_BY_NAME("searchByName"),
+    CREATE("create"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String key;
+
+    LoadOperation(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    static LoadOperation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + key));
+    }
+}
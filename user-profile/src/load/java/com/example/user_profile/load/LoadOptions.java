@@ -0,0 +1,50 @@
+package com.example.user_profile.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+record LoadOptions(
+        URI baseUrl,
+        int users,
+        int rps,
+        Duration warmup,
+        Duration duration,
+        LoadMix mix,
+        long seed,
+        int maxInFlight,
+        String label,
+        Path reportDirectory,
+        Path baseline
+) {
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadOptions options = new LoadOptions(
+                URI.create(values.getOrDefault("baseUrl", "http://localhost:8090")),
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                Integer.parseInt(values.getOrDefault("rps", "200")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                LoadMix.parse(values.getOrDefault("mix", LoadMix.DEFAULT)),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "1000")),
+                values.getOrDefault("label", "run"),
+                Path.of(values.getOrDefault("reportDirectory", "build/reports/load")),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null
+        );
+        if (options.users <= 0 || options.rps <= 0 || options.maxInFlight <= 0 || options.duration.isZero()) {
+            throw new IllegalArgumentException("users, rps, maxInFlight and duration must be positive");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.user_profile.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class LoadReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String TOTAL = "total";
+
+    private final LoadOptions options;
+    private final Map<String, OperationStats.Snapshot> snapshots = new LinkedHashMap<>();
+    private final int maxInFlight;
+    private final Instant finishedAt = Instant.now();
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    LoadReport(LoadOptions options, Map<LoadOperation, OperationStats.Snapshot> operationSnapshots, int maxInFlight) {
+        this.options = options;
+        this.maxInFlight = maxInFlight;
+
+        Histogram total = new Histogram(3);
+        long successes = 0;
+        long misses = 0;
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<LoadOperation, OperationStats.Snapshot> entry : operationSnapshots.entrySet()) {
+            OperationStats.Snapshot snapshot = entry.getValue();
+            if (snapshot.completed() + snapshot.dropped() == 0) continue;
+
+            snapshots.put(entry.getKey().getKey(), snapshot);
+            total.add(snapshot.histogram());
+            successes += snapshot.successes();
+            misses += snapshot.misses();
+            errors += snapshot.errors();
+            dropped += snapshot.dropped();
+        }
+        snapshots.put(TOTAL, new OperationStats.Snapshot(total, successes, misses, errors, dropped));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nLoad run '%s': %d rps target, %ds measured after %ds warmup, seed %d, mix %s%n",
+                options.label(), options.rps(), options.duration().toSeconds(), options.warmup().toSeconds(),
+                options.seed(), options.mix());
+        out.printf("%-14s %10s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        snapshots.forEach((operation, snapshot) -> out.printf("%-14s %10d %10.1f %8.2f%% %9d %9.2f %9.2f %9.2f %9.2f%n",
+                operation,
+                snapshot.completed(),
+                throughput(snapshot),
+                snapshot.errorRate() * 100,
+                snapshot.dropped(),
+                percentile(snapshot, 50),
+                percentile(snapshot, 99),
+                percentile(snapshot, 99.9),
+                snapshot.histogram().getMaxValue() / NANOS_PER_MILLI));
+        out.printf("max in flight: %d%n", maxInFlight);
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", options.label());
+        report.put("finishedAt", finishedAt.toString());
+        report.put("baseUrl", options.baseUrl().toString());
+        report.put("users", options.users());
+        report.put("rps", options.rps());
+        report.put("warmupSeconds", options.warmup().toSeconds());
+        report.put("durationSeconds", options.duration().toSeconds());
+        report.put("mix", options.mix().toString());
+        report.put("seed", options.seed());
+        report.put("maxInFlight", maxInFlight);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        snapshots.forEach((operation, snapshot) -> operations.put(operation, summarize(snapshot)));
+        report.put("operations", operations);
+        objectMapper.writeValue(directory.resolve(options.label() + ".json").toFile(), report);
+
+        for (Map.Entry<String, OperationStats.Snapshot> entry : snapshots.entrySet()) {
+            Path histogramFile = directory.resolve(options.label() + "-" + entry.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(histogramFile))) {
+                entry.getValue().histogram().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    void compare(Path baseline, PrintStream out) throws IOException {
+        JsonNode baselineOperations = objectMapper.readTree(baseline.toFile()).path("operations");
+        out.printf("%nCompared with %s%n", baseline);
+        out.printf("%-14s %18s %18s %18s%n", "operation", "req/s", "p99 ms", "error rate");
+        snapshots.forEach((operation, snapshot) -> {
+            JsonNode previous = baselineOperations.path(operation);
+            if (previous.isMissingNode()) return;
+
+            out.printf("%-14s %18s %18s %18s%n",
+                    operation,
+                    delta(previous.path("throughput").asDouble(), throughput(snapshot)),
+                    delta(previous.path("p99Ms").asDouble(), percentile(snapshot, 99)),
+                    delta(previous.path("errorRate").asDouble() * 100, snapshot.errorRate() * 100));
+        });
+    }
+
+    private Map<String, Object> summarize(OperationStats.Snapshot snapshot) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", snapshot.completed());
+        summary.put("throughput", throughput(snapshot));
+        summary.put("successes", snapshot.successes());
+        summary.put("misses", snapshot.misses());
+        summary.put("errors", snapshot.errors());
+        summary.put("dropped", snapshot.dropped());
+        summary.put("errorRate", snapshot.errorRate());
+        summary.put("p50Ms", percentile(snapshot, 50));
+        summary.put("p90Ms", percentile(snapshot, 90));
+        summary.put("p99Ms", percentile(snapshot, 99));
+        summary.put("p999Ms", percentile(snapshot, 99.9));
+        summary.put("maxMs", snapshot.histogram().getMaxValue() / NANOS_PER_MILLI);
+        return summary;
+    }
+
+    private double throughput(OperationStats.Snapshot snapshot) {
+        return (double) snapshot.completed() / options.duration().toSeconds();
+    }
+
+    private static double percentile(OperationStats.Snapshot snapshot, double percentile) {
+        return snapshot.histogram().getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static String delta(double previous, double current) {
+        if (previous == 0) return String.format("%.2f (new)", current);
+        return String.format("%.2f (%+.1f%%)", current, (current - previous) / previous * 100);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.user_profile.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class OperationStats {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void record(long latencyNanos, int statusCode) {
+        recorder.recordValue(latencyNanos);
+        if (statusCode >= 200 && statusCode < 300) {
+            successes.increment();
+        } else if (statusCode == 404 || statusCode == 409) {
+            misses.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(
+                recorder.getIntervalHistogram(),
+                successes.sum(),
+                misses.sum(),
+                errors.sum(),
+                dropped.sum()
+        );
+    }
+
+    record Snapshot(Histogram histogram, long successes, long misses, long errors, long dropped) {
+        long completed() {
+            return successes + misses + errors;
+        }
+
+        double errorRate() {
+            long attempts = completed() + dropped;
+            return attempts == 0 ? 0.0 : (double) (errors + dropped) / attempts;
+        }
+    }
+}
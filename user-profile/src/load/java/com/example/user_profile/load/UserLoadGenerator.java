@@ -0,0 +1,208 @@
+package com.example.user_profile.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class UserLoadGenerator {
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final int DISTINCT_NAMES = 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Random random;
+    private final UserPool userPool = new UserPool();
+    private final Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    private final Semaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private int createdUsers;
+
+    UserLoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.random = new Random(options.seed());
+        this.permits = new Semaphore(options.maxInFlight());
+        for (LoadOperation operation : LoadOperation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        UserLoadGenerator generator = new UserLoadGenerator(options);
+        generator.seed();
+        LoadReport report = generator.run();
+        report.print(System.out);
+        report.write(options.reportDirectory());
+        if (options.baseline() != null) report.compare(options.baseline(), System.out);
+    }
+
+    void seed() throws IOException, InterruptedException {
+        for (int from = 0; from < options.users(); from += SEED_CHUNK_SIZE) {
+            List<Map<String, Object>> users = new ArrayList<>();
+            for (int index = from; index < Math.min(from + SEED_CHUNK_SIZE, options.users()); index++) {
+                users.add(userBody(null, "load-user" + index + "@load.test", index));
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(resolve("/api/users/batch?upsert=true"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(users)))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+            }
+
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if (result.get("id").isNull()) continue;
+                users.get(result.get("index").asInt()).put("id", result.get("id").asLong());
+            }
+            for (Map<String, Object> user : users) {
+                if (user.get("id") != null) {
+                    userPool.add(new UserPool.SeededUser((Long) user.get("id"), (String) user.get("email")));
+                }
+            }
+        }
+        if (userPool.size() == 0) throw new IllegalStateException("No users were seeded");
+    }
+
+    LoadReport run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rps();
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup().toNanos();
+        long end = measureStart + options.duration().toNanos();
+
+        for (long sequence = 0; ; sequence++) {
+            long intendedStart = start + sequence * intervalNanos;
+            if (intendedStart >= end) break;
+
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) LockSupport.parkNanos(delay);
+
+            LoadOperation operation = options.mix().pick(random);
+            HttpRequest request = createRequest(operation);
+            if (request != null) send(operation, request, intendedStart, intendedStart >= measureStart);
+        }
+
+        permits.tryAcquire(options.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        executor.shutdownNow();
+
+        Map<LoadOperation, OperationStats.Snapshot> snapshots = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> snapshots.put(operation, operationStats.snapshot()));
+        return new LoadReport(options, snapshots, maxInFlight.get());
+    }
+
+    private void send(LoadOperation operation, HttpRequest request, long intendedStart, boolean measured) {
+        if (!permits.tryAcquire()) {
+            if (measured) stats.get(operation).recordDropped();
+            return;
+        }
+
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intendedStart;
+            inFlight.decrementAndGet();
+            permits.release();
+            if (measured) stats.get(operation).record(latency, response == null ? -1 : response.statusCode());
+        });
+    }
+
+    private HttpRequest createRequest(LoadOperation operation) {
+        if (operation == LoadOperation.SEARCH_BY_NAME) {
+            return get("/api/users/search?name=" + encode(namePrefix(random.nextInt(DISTINCT_NAMES))) + "&size=10");
+        }
+        if (operation == LoadOperation.CREATE) {
+            String email = "load-" + runId + "-" + createdUsers++ + "@load.test";
+            return write("POST", userBody(null, email, random.nextInt(DISTINCT_NAMES)));
+        }
+
+        UserPool.SeededUser user = operation == LoadOperation.DELETE ? userPool.take(random) : userPool.pick(random);
+        if (user == null) return null;
+
+        return switch (operation) {
+            case GET_BY_ID -> get("/api/users/user?id=" + user.id());
+            case GET_BY_EMAIL -> get("/api/users/user?email=" + encode(user.email()));
+            case UPDATE -> write("PUT", userBody(user.id(), user.email(), random.nextInt(DISTINCT_NAMES)));
+            case DELETE -> HttpRequest.newBuilder(resolve("/api/users/user?id=" + user.id()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .DELETE()
+                    .build();
+            default -> throw new IllegalArgumentException("Unsupported operation " + operation);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest write(String method, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(resolve("/api/users"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI resolve(String path) {
+        return options.baseUrl().resolve(path);
+    }
+
+    private static Map<String, Object> userBody(Long id, String email, int index) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", id);
+        user.put("name", namePrefix(index % DISTINCT_NAMES) + "User");
+        user.put("email", email);
+        user.put("gender", index % 2 == 0 ? "male" : "female");
+        user.put("birthDate", LocalDate.of(1950, 1, 1).plusDays(index % 20000).toString());
+        user.put("role", index % 100 == 0 ? "admin" : "user");
+        return user;
+    }
+
+    private static String namePrefix(int index) {
+        return "Load" + index + " ";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.user_profile.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class UserPool {
+    private final List<SeededUser> users = new ArrayList<>();
+
+    void add(SeededUser user) {
+        users.add(user);
+    }
+
+    int size() {
+        return users.size();
+    }
+
+    SeededUser pick(Random random) {
+        if (users.isEmpty()) return null;
+        return users.get(random.nextInt(users.size()));
+    }
+
+    SeededUser take(Random random) {
+        if (users.isEmpty()) return null;
+
+        int index = random.nextInt(users.size());
+        SeededUser user = users.get(index);
+        users.set(index, users.get(users.size() - 1));
+        users.remove(users.size() - 1);
+        return user;
+    }
+
+    record SeededUser(long id, String email) {
+    }
+}
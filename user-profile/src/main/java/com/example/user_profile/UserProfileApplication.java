@@ -2,12 +2,15 @@ package com.example.user_profile;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class UserProfileApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(UserProfileApplication.class, args);
+		SpringApplication application = new SpringApplication(UserProfileApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(2048));
+		application.run(args);
 	}
 
 }
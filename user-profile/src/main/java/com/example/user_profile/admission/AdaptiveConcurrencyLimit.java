@@ -0,0 +1,107 @@
+package com.example.user_profile.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class AdaptiveConcurrencyLimit {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOWS = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int windowSize, double rttTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || windowSize < 1 || rttTolerance < 1.0) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.rttTolerance = rttTolerance;
+        this.limit = clamp(initialLimit);
+        this.estimatedLimit = limit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1.0);
+    }
+
+    public boolean tryAcquire(double share) {
+        int ceiling = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= ceiling) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    public void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (!sampleLock.tryLock()) return;
+        try {
+            sample(rttNanos, current, dropped);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    private void sample(long rttNanos, int inFlightAtRelease, boolean dropped) {
+        windowRttNanos += Math.max(1, rttNanos);
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        windowDropped |= dropped;
+        if (windowSamples < windowSize) return;
+
+        double shortRttNanos = (double) windowRttNanos / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        boolean drop = windowDropped;
+        windowRttNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) / LONG_WINDOWS;
+        }
+        if (longRttNanos > 2 * shortRttNanos) longRttNanos = 2 * shortRttNanos;
+        if (!drop && maxInFlight < estimatedLimit / 2) return;
+
+        double gradient = drop
+                ? MIN_GRADIENT
+                : Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = clamp((int) estimatedLimit);
+    }
+
+    private int clamp(int value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
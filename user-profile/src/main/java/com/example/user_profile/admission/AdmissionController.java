@@ -0,0 +1,90 @@
+package com.example.user_profile.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+public class AdmissionController {
+    public static final String LIMIT_METRIC = "user.admission.limit";
+    public static final String IN_FLIGHT_METRIC = "user.admission.inflight";
+
+    private static final int WINDOW_SIZE = 20;
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private final AdaptiveConcurrencyLimit globalLimit;
+    private final Map<RequestClass, AdaptiveConcurrencyLimit> classLimits = new EnumMap<>(RequestClass.class);
+    private final LongSupplier clock;
+
+    public AdmissionController(
+            int maxConcurrency,
+            int longPollConcurrency,
+            MeterRegistry meterRegistry,
+            LongSupplier clock
+    ) {
+        this.globalLimit = fixedLimit(maxConcurrency);
+        this.clock = clock;
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdaptiveConcurrencyLimit limit = requestClass.isAdaptive()
+                    ? adaptiveLimit(maxConcurrency, requestClass.share())
+                    : fixedLimit(longPollConcurrency);
+            classLimits.put(requestClass, limit);
+            Gauge.builder(LIMIT_METRIC, limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("class", requestClass.name())
+                    .register(meterRegistry);
+            Gauge.builder(IN_FLIGHT_METRIC, limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("class", requestClass.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public Permit tryAcquire(RequestClass requestClass) {
+        AdaptiveConcurrencyLimit classLimit = classLimits.get(requestClass);
+        if (!classLimit.tryAcquire()) return null;
+        if (!requestClass.isAdaptive()) return new Permit(classLimit, false, clock.getAsLong());
+        if (!globalLimit.tryAcquire(requestClass.share())) {
+            classLimit.releaseUnsampled();
+            return null;
+        }
+        return new Permit(classLimit, true, clock.getAsLong());
+    }
+
+    public int getLimit(RequestClass requestClass) {
+        return classLimits.get(requestClass).getLimit();
+    }
+
+    private static AdaptiveConcurrencyLimit adaptiveLimit(int maxConcurrency, double share) {
+        int initialLimit = Math.max(1, (int) (maxConcurrency * share));
+        return new AdaptiveConcurrencyLimit(initialLimit, 1, maxConcurrency, WINDOW_SIZE, RTT_TOLERANCE);
+    }
+
+    private static AdaptiveConcurrencyLimit fixedLimit(int limit) {
+        return new AdaptiveConcurrencyLimit(limit, limit, limit, 1, 1.0);
+    }
+
+    public class Permit {
+        private final AdaptiveConcurrencyLimit classLimit;
+        private final boolean sampled;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimit classLimit, boolean sampled, long startNanos) {
+            this.classLimit = classLimit;
+            this.sampled = sampled;
+            this.startNanos = startNanos;
+        }
+
+        public void release(boolean dropped) {
+            if (!released.compareAndSet(false, true)) return;
+            if (!sampled) {
+                classLimit.releaseUnsampled();
+                return;
+            }
+            classLimit.release(clock.getAsLong() - startNanos, dropped);
+            globalLimit.releaseUnsampled();
+        }
+    }
+}
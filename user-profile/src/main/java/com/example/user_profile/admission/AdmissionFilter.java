@@ -0,0 +1,99 @@
+package com.example.user_profile.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class AdmissionFilter extends OncePerRequestFilter {
+    public static final String REJECTED_METRIC = "user.admission.rejected";
+
+    private final AdmissionController admissionController;
+    private final ClientRateLimiter clientRateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final String clientHeader;
+    private final long retryAfterSeconds;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestClass requestClass = RequestClass.classify(request);
+
+        long waitNanos = clientRateLimiter.tryAcquire(clientId(request), requestClass.tokens());
+        if (waitNanos > 0) {
+            long retryAfter = TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+            reject(response, requestClass, HttpStatus.TOO_MANY_REQUESTS, retryAfter);
+            return;
+        }
+
+        AdmissionController.Permit permit = admissionController.tryAcquire(requestClass);
+        if (permit == null) {
+            reject(response, requestClass, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit, response));
+            } else {
+                permit.release(!completed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        if (clientHeader == null || clientHeader.isBlank()) return request.getRemoteAddr();
+
+        String clientId = request.getHeader(clientHeader);
+        return clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId;
+    }
+
+    private void reject(HttpServletResponse response, RequestClass requestClass, HttpStatus status, long retryAfter) {
+        meterRegistry.counter(REJECTED_METRIC, "class", requestClass.name(), "status", String.valueOf(status.value()))
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+    }
+
+    private record PermitReleasingListener(
+            AdmissionController.Permit permit,
+            HttpServletResponse response
+    ) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
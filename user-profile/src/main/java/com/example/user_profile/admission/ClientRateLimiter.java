@@ -0,0 +1,30 @@
+package com.example.user_profile.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public class ClientRateLimiter {
+    private final Cache<String, TokenBucket> buckets;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final LongSupplier clock;
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, long maxClients, LongSupplier clock) {
+        long refillNanos = (long) (burst * 1_000_000_000L / permitsPerSecond);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(Math.max(refillNanos, Duration.ofSeconds(1).toNanos())))
+                .build();
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.clock = clock;
+    }
+
+    public long tryAcquire(String clientId, int permits) {
+        long now = clock.getAsLong();
+        return buckets.get(clientId, key -> new TokenBucket(permitsPerSecond, burst, now)).tryAcquire(permits, now);
+    }
+}
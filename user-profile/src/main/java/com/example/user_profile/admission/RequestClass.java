@@ -0,0 +1,47 @@
+package com.example.user_profile.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum RequestClass {
+    POINT_LOOKUP(1, 1.0),
+    WRITE(1, 0.75),
+    QUERY(2, 0.5),
+    SCAN(20, 0.25),
+    LONG_POLL(1, 0.0);
+
+    private final int tokens;
+    private final double share;
+
+    RequestClass(int tokens, double share) {
+        this.tokens = tokens;
+        this.share = share;
+    }
+
+    public boolean isAdaptive() {
+        return this != LONG_POLL;
+    }
+
+    public int tokens() {
+        return tokens;
+    }
+
+    public double share() {
+        return share;
+    }
+
+    public static RequestClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/users/bulk")) return SCAN;
+        if (path.equals("/api/users/changes") && "GET".equals(request.getMethod())) return LONG_POLL;
+        if (!"GET".equals(request.getMethod())) return WRITE;
+
+        if (path.equals("/api/users/user")) {
+            boolean pointLookup = request.getParameter("id") != null || request.getParameter("email") != null;
+            return pointLookup ? POINT_LOOKUP : QUERY;
+        }
+        if (path.equals("/api/users") || path.equals("/api/users/")) {
+            return request.getParameter("after") != null ? QUERY : SCAN;
+        }
+        return QUERY;
+    }
+}
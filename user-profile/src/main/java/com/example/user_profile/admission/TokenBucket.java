@@ -0,0 +1,27 @@
+package com.example.user_profile.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) throw new IllegalArgumentException("Invalid rate limit settings");
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    public long tryAcquire(int permits, long nowNanos) {
+        long cost = Math.min(emissionIntervalNanos * permits, burstToleranceNanos);
+        while (true) {
+            long arrival = theoreticalArrivalNanos.get();
+            long nextArrival = Math.max(arrival, nowNanos) + cost;
+            long waitNanos = nextArrival - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) return waitNanos;
+            if (theoreticalArrivalNanos.compareAndSet(arrival, nextArrival)) return 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.user_profile.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedLineReader implements Closeable {
+    private static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long lineNumber;
+
+    MappedLineReader(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    public static MappedLineReader open(Path file) throws IOException {
+        return new MappedLineReader(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    public Line next() throws IOException {
+        while (true) {
+            int start = window.position();
+            int end = indexOfNewline(start);
+            if (end < 0) {
+                if (windowStart + window.limit() < fileSize) {
+                    if (start == 0) throw new IOException("Line " + (lineNumber + 1) + " is longer than " + windowSize + " bytes");
+                    map(windowStart + start);
+                    continue;
+                }
+                if (start == window.limit()) return null;
+                end = window.limit();
+            }
+
+            window.position(Math.min(end + 1, window.limit()));
+            lineNumber++;
+            int length = end - start;
+            if (length > 0 && window.get(start + length - 1) == '\r') length--;
+            return new Line(lineNumber, window.slice(start, length));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int indexOfNewline(int from) {
+        for (int i = from; i < window.limit(); i++) {
+            if (window.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, fileSize - position));
+    }
+
+    public record Line(long number, ByteBuffer content) {
+        public boolean isBlank() {
+            for (int i = 0; i < content.limit(); i++) {
+                if (!Character.isWhitespace(content.get(i))) return false;
+            }
+            return true;
+        }
+    }
+}
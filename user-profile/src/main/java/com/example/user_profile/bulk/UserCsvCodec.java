@@ -0,0 +1,126 @@
+package com.example.user_profile.bulk;
+
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class UserCsvCodec {
+    private final List<UserField> columns;
+
+    private UserCsvCodec(List<UserField> columns) {
+        this.columns = columns;
+    }
+
+    public static UserCsvCodec fromHeader(String header) {
+        List<UserField> columns = new ArrayList<>();
+        for (String column : split(header)) {
+            columns.add(Arrays.stream(UserField.values())
+                    .filter(field -> field.getProperty().equalsIgnoreCase(column.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown column " + column)));
+        }
+        return new UserCsvCodec(columns);
+    }
+
+    public static UserCsvCodec forFields(Set<UserField> fields) {
+        return new UserCsvCodec(Arrays.stream(UserField.values()).filter(fields::contains).toList());
+    }
+
+    public UserDTO parse(String line) {
+        List<String> values = split(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + values.size());
+        }
+
+        UserDTO userDTO = new UserDTO();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            switch (columns.get(i)) {
+                case NAME -> userDTO.setName(value);
+                case EMAIL -> userDTO.setEmail(value);
+                case GENDER -> userDTO.setGender(value);
+                case BIRTH_DATE -> userDTO.setBirthDate(parseDate(value));
+                case ROLE -> userDTO.setRole(value);
+                default -> {
+                }
+            }
+        }
+        return userDTO;
+    }
+
+    public String header() {
+        return columns.stream().map(UserField::getProperty).collect(Collectors.joining(","));
+    }
+
+    public String format(UserView user) {
+        return columns.stream().map(column -> escape(value(user, column))).collect(Collectors.joining(","));
+    }
+
+    private static String value(UserView user, UserField field) {
+        Object value = switch (field) {
+            case ID -> user.id();
+            case NAME -> user.name();
+            case EMAIL -> user.email();
+            case GENDER -> user.gender();
+            case BIRTH_DATE -> user.birthDate();
+            case ROLE -> user.role();
+            case VERSION -> user.version();
+        };
+        return value == null ? "" : value.toString();
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) return null;
+
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid birthDate " + value);
+        }
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted value");
+
+        values.add(value.toString());
+        return values;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.user_profile.caches;
+
+import com.example.user_profile.dtos.UserView;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+@Timed(value = "user.cache", histogram = true)
+public class UserCache {
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache usersById;
+    private final Cache usersByEmail;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public UserCache(CacheManager cacheManager) {
+        this.usersById = cacheManager.getCache(USERS_BY_ID);
+        this.usersByEmail = new TransactionAwareCacheDecorator(cacheManager.getCache(USERS_BY_EMAIL));
+    }
+
+    public UserView getById(Long id) {
+        return usersById.get(id, UserView.class);
+    }
+
+    public Long getIdByEmail(String email) {
+        return usersByEmail.get(email, Long.class);
+    }
+
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    public void put(UserView user, long generation) {
+        if (generation(user.id()) != generation) return;
+
+        usersById.put(user.id(), user);
+        if (generation(user.id()) != generation) usersById.evict(user.id());
+        usersByEmail.put(user.email(), user.id());
+    }
+
+    public void putEmail(String email, Long id) {
+        usersByEmail.put(email, id);
+    }
+
+    public void evictById(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id);
+            }
+        });
+    }
+
+    public void evictEmail(String email) {
+        usersByEmail.evict(email);
+    }
+
+    private void invalidate(Long id) {
+        generations.incrementAndGet(stripe(id));
+        usersById.evict(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.user_profile.caches;
+
+import com.example.user_profile.dtos.UserView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class UserLookupSingleFlight {
+    public static final String COLLAPSED_METRIC = "user.lookup.collapsed";
+
+    private final SingleFlight<GenerationKey, UserView> byId;
+    private final SingleFlight<String, UserView> byEmail;
+
+    public UserLookupSingleFlight(MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>(meterRegistry.counter(COLLAPSED_METRIC, "key", "id"));
+        this.byEmail = new SingleFlight<>(meterRegistry.counter(COLLAPSED_METRIC, "key", "email"));
+    }
+
+    public UserView loadById(Long id, long generation, Supplier<UserView> loader) {
+        return byId.execute(new GenerationKey(id, generation), loader);
+    }
+
+    public UserView loadByEmail(String email, Supplier<UserView> loader) {
+        return byEmail.execute(email, loader);
+    }
+
+    private record GenerationKey(Long id, long generation) {
+    }
+}
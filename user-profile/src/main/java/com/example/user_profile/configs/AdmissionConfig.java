@@ -0,0 +1,50 @@
+package com.example.user_profile.configs;
+
+import com.example.user_profile.admission.AdmissionController;
+import com.example.user_profile.admission.AdmissionFilter;
+import com.example.user_profile.admission.ClientRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "user.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+    @Bean
+    public AdmissionController admissionController(
+            @Value("${user.admission.max-concurrency:64}") int maxConcurrency,
+            @Value("${user.admission.long-poll-concurrency:1000}") int longPollConcurrency,
+            MeterRegistry meterRegistry
+    ) {
+        return new AdmissionController(maxConcurrency, longPollConcurrency, meterRegistry, System::nanoTime);
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(
+            @Value("${user.admission.rate.permits-per-second:200}") double permitsPerSecond,
+            @Value("${user.admission.rate.burst:400}") int burst,
+            @Value("${user.admission.rate.max-clients:100000}") long maxClients
+    ) {
+        return new ClientRateLimiter(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+            AdmissionController admissionController,
+            ClientRateLimiter clientRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${user.admission.client-header:}") String clientHeader,
+            @Value("${user.admission.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter(
+                admissionController, clientRateLimiter, meterRegistry, clientHeader, retryAfterSeconds
+        ));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.user_profile.configs;
+
+import com.example.user_profile.storage.LogUserStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "user.storage.engine", havingValue = "log")
+public class LogStorageConfig {
+    @Bean(destroyMethod = "close")
+    public LogUserStore logUserStore(
+            @Value("${user.storage.log.directory:data/users}") String directory,
+            @Value("${user.storage.log.segment-size:67108864}") int segmentSize,
+            @Value("${user.storage.log.force-on-write:true}") boolean forceOnWrite,
+            @Value("${user.storage.log.change-retention:100000}") long changeRetention
+    ) throws IOException {
+        return LogUserStore.open(Path.of(directory), segmentSize, forceOnWrite, changeRetention);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.user_profile.configs;
+
+import com.example.user_profile.storage.ShardedUserStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "user.storage.engine", havingValue = "sharded")
+public class ShardedStorageConfig {
+    @Bean(destroyMethod = "close")
+    public ShardedUserStore shardedUserStore(
+            @Value("${user.storage.sharded.directory:data/shards}") String directory,
+            @Value("${user.storage.sharded.count:4}") int shardCount,
+            @Value("${user.storage.sharded.pool-size:4}") int poolSize,
+            @Value("${user.storage.sharded.rebalance-on-startup:false}") boolean rebalance
+    ) throws IOException {
+        return ShardedUserStore.open(Path.of(directory), shardCount, poolSize, rebalance);
+    }
+}
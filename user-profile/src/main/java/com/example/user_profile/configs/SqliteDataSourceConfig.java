@@ -0,0 +1,93 @@
+package com.example.user_profile.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Profile("prod")
+public class SqliteDataSourceConfig {
+    private static final String SQLITE_OPEN_READONLY = "1";
+
+    @Value("${sqlite.busy-timeout:5000}")
+    private int busyTimeout;
+
+    @Value("${sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    @Bean(defaultCandidate = false)
+    @FlywayDataSource
+    public HikariDataSource sqliteWriteDataSource(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${sqlite.write-queue-timeout:30000}") long writeQueueTimeout
+    ) {
+        HikariDataSource dataSource = createDataSource(properties, meterRegistry, "sqlite-writer", 1);
+        dataSource.setConnectionTimeout(writeQueueTimeout);
+        dataSource.addDataSourceProperty("journal_mode", "WAL");
+        dataSource.addDataSourceProperty("synchronous", "NORMAL");
+        dataSource.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @DependsOn("sqliteWriteDataSource")
+    public HikariDataSource sqliteReadDataSource(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${sqlite.read-pool-size:8}") int readPoolSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        int poolSize = virtualThreads ? Math.min(readPoolSize, maxPinnedReaders()) : readPoolSize;
+        HikariDataSource dataSource = createDataSource(properties, meterRegistry, "sqlite-reader", poolSize);
+        dataSource.setReadOnly(true);
+        dataSource.addDataSourceProperty("open_mode", SQLITE_OPEN_READONLY);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("sqliteWriteDataSource") DataSource writeDataSource,
+            @Qualifier("sqliteReadDataSource") DataSource readDataSource
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+
+    private static int maxPinnedReaders() {
+        int carriers = Integer.getInteger(
+                "jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors()
+        );
+        return carriers > 3 ? carriers - 2 : 1;
+    }
+
+    private HikariDataSource createDataSource(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            String poolName,
+            int poolSize
+    ) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        dataSource.setMetricRegistry(meterRegistry);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(poolSize);
+        dataSource.addDataSourceProperty("busy_timeout", String.valueOf(busyTimeout));
+        dataSource.addDataSourceProperty("mmap_size", String.valueOf(mmapSize));
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.user_profile.controllers;
+
+import com.example.user_profile.dtos.BatchResultDTO;
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.services.UserBatchService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/batch")
+@RequiredArgsConstructor
+public class UserBatchController {
+    private final UserBatchService userBatchService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> createUsers(
+            @RequestBody List<UserDTO> userDTOs,
+            @RequestParam(name = "upsert", defaultValue = "false")boolean upsert
+    ) {
+        return ResponseEntity.ok(createOrUpsert(userDTOs.iterator(), upsert));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> createUsers(
+            InputStream inputStream,
+            @RequestParam(name = "upsert", defaultValue = "false")boolean upsert
+    ) throws IOException {
+        try (MappingIterator<UserDTO> userDTOs = objectMapper.readerFor(UserDTO.class).readValues(inputStream)) {
+            return ResponseEntity.ok(createOrUpsert(userDTOs, upsert));
+        }
+    }
+
+    @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> updateUsers(@RequestBody List<UserDTO> userDTOs) {
+        return ResponseEntity.ok(userBatchService.updateUsers(userDTOs.iterator()));
+    }
+
+    @PutMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> updateUsers(InputStream inputStream) throws IOException {
+        try (MappingIterator<UserDTO> userDTOs = objectMapper.readerFor(UserDTO.class).readValues(inputStream)) {
+            return ResponseEntity.ok(userBatchService.updateUsers(userDTOs));
+        }
+    }
+
+    @DeleteMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> deleteUsers(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(userBatchService.deleteUsersByIds(ids.iterator()));
+    }
+
+    @DeleteMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchResultDTO>> deleteUsers(InputStream inputStream) throws IOException {
+        try (MappingIterator<Long> ids = objectMapper.readerFor(Long.class).readValues(inputStream)) {
+            return ResponseEntity.ok(userBatchService.deleteUsersByIds(ids));
+        }
+    }
+
+    private List<BatchResultDTO> createOrUpsert(Iterator<UserDTO> userDTOs, boolean upsert) {
+        return upsert ? userBatchService.upsertUsers(userDTOs) : userBatchService.createUsers(userDTOs);
+    }
+}
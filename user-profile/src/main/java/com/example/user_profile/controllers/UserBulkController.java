@@ -0,0 +1,65 @@
+package com.example.user_profile.controllers;
+
+import com.example.user_profile.dtos.BulkExportResultDTO;
+import com.example.user_profile.dtos.BulkFormat;
+import com.example.user_profile.dtos.BulkImportResultDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.UserBulkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.NoSuchFileException;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/users/bulk")
+@RequiredArgsConstructor
+public class UserBulkController {
+    private final UserBulkService userBulkService;
+
+    @PostMapping("/import")
+    public ResponseEntity<BulkImportResultDTO> importUsers(
+            @RequestParam(name = "file")String file,
+            @RequestParam(name = "format", required = false)BulkFormat format
+    ) {
+        try {
+            BulkFormat bulkFormat = format != null ? format : BulkFormat.fromFileName(file);
+            return ResponseEntity.ok(userBulkService.importUsers(file, bulkFormat));
+        } catch (ServiceException e) {
+            return ResponseEntity.status(toHttpStatus(e)).build();
+        }
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<BulkExportResultDTO> exportUsers(
+            @RequestParam(name = "file")String file,
+            @RequestParam(name = "format", required = false)BulkFormat format,
+            @RequestParam(name = "fields", required = false)String fields
+    ) {
+        Set<UserField> userFields;
+        try {
+            userFields = UserField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            BulkFormat bulkFormat = format != null ? format : BulkFormat.fromFileName(file);
+            return ResponseEntity.ok(userBulkService.exportUsers(file, bulkFormat, userFields));
+        } catch (ServiceException e) {
+            return ResponseEntity.status(toHttpStatus(e)).build();
+        }
+    }
+
+    private static HttpStatus toHttpStatus(ServiceException e) {
+        if (NoSuchFileException.class.getSimpleName().equals(e.getMessage())) return HttpStatus.NOT_FOUND;
+        if (IllegalArgumentException.class.getSimpleName().equals(e.getMessage())) return HttpStatus.BAD_REQUEST;
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.user_profile.controllers;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.services.UserChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/changes")
+@RequiredArgsConstructor
+public class UserChangeController {
+    private final UserChangeService userChangeService;
+
+    @GetMapping
+    public DeferredResult<List<UserChange>> getChanges(
+            @RequestParam(name = "since", defaultValue = "0")Long since,
+            @RequestParam(name = "limit", required = false)Integer limit,
+            @RequestParam(name = "timeout", required = false)Long timeout
+    ) {
+        return userChangeService.awaitChangesSince(since, limit, timeout);
+    }
+}
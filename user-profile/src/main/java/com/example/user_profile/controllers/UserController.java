@@ -1,35 +1,63 @@
 package com.example.user_profile.controllers;
 
 import com.example.user_profile.dtos.UserDTO;
-import com.example.user_profile.entities.User;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserSearchDTO;
+import com.example.user_profile.dtos.UserView;
 import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.AsyncUserWriteService;
 import com.example.user_profile.services.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final Optional<AsyncUserWriteService> asyncUserWriteService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<Boolean> createUser(@RequestBody UserDTO userDTO) {
         try {
-            boolean result = userService.createUser(userDTO);
-            HttpStatus httpStatus = result ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
-            return ResponseEntity.status(httpStatus).body(true);
+            if (asyncUserWriteService.isPresent()) {
+                return toEnqueuedResponse(asyncUserWriteService.get().enqueueCreate(userDTO));
+            }
+
+            Long createdId = userService.createUser(userDTO);
+            HttpStatus httpStatus = createdId != null ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(httpStatus).body(createdId != null);
         } catch (ServiceException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
         }
@@ -40,32 +68,49 @@ public class UserController {
             @RequestParam(name = "id", required = false)Long id,
             @RequestParam(name = "email", required = false)String email,
             @RequestParam(name = "name", required = false)String name,
+            @RequestParam(name = "fields", required = false)String fields,
             @RequestParam(name = "page", defaultValue = "0")Integer page,
-            @RequestParam(name = "size", defaultValue = "10")Integer size
+            @RequestParam(name = "size", defaultValue = "10")Integer size,
+            WebRequest webRequest
     ) {
-        if (id == null && email == null && name == null) {
+        Set<UserField> userFields = parseFields(fields);
+        if (id == null && email == null && name == null || userFields == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
 
         if (id != null) {
-            User existingUser = userService.getUserById(id);
+            Long version = userService.getUserVersionById(id);
+            String eTag = version == null ? null : toETag(version, userFields);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+
+            UserView existingUser = userService.getUserById(id);
             if (existingUser == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             } else {
-                return ResponseEntity.ok(existingUser);
+                return ResponseEntity.ok()
+                        .eTag(toETag(existingUser.version(), userFields))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(CacheControl.noCache())
+                        .body(existingUser.select(userFields));
             }
         }
 
         if (email != null) {
-            User existingUser = userService.getUserByEmail(email);
+            UserView existingUser = userService.getUserByEmail(email);
             if (existingUser == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             } else {
-                return ResponseEntity.ok(existingUser);
+                return ResponseEntity.ok(existingUser.select(userFields));
             }
         }
 
-        List<User> existingUsers = userService.getUsersByName(name, page, size);
+        List<UserView> existingUsers = userService.getUsersByName(name, userFields, page, size);
         if (existingUsers.size() == 0) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } else {
@@ -73,19 +118,75 @@ public class UserController {
         }
     }
 
-    @GetMapping
-    public ResponseEntity<List<User>> getUsers() {
-        return ResponseEntity.ok(userService.getUsers());
+    @GetMapping("/search")
+    public ResponseEntity<List<UserView>> searchUsers(
+            @ModelAttribute UserSearchDTO userSearchDTO,
+            @RequestParam(name = "fields", required = false)String fields,
+            @RequestParam(name = "page", defaultValue = "0")Integer page,
+            @RequestParam(name = "size", defaultValue = "10")Integer size
+    ) {
+        Set<UserField> userFields = parseFields(fields);
+        if (!userSearchDTO.hasFilters() || userFields == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (!userSearchDTO.hasValidAgeRange()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(userService.searchUsers(userSearchDTO, userFields, page, size));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Map<String, Long>>> getFacetCounts() {
+        return ResponseEntity.ok(userService.getFacetCounts());
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<List<UserView>> getUsersAfter(
+            @RequestParam(name = "after")Long after,
+            @RequestParam(name = "fields", required = false)String fields,
+            @RequestParam(name = "limit", required = false)Integer limit
+    ) {
+        Set<UserField> userFields = parseFields(fields);
+        if (userFields == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        return ResponseEntity.ok(userService.getUsersAfter(after, userFields, limit));
+    }
+
+    @GetMapping(params = "!after")
+    public ResponseEntity<StreamingResponseBody> getUsers(
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false)String accept,
+            @RequestParam(name = "fields", required = false)String fields
+    ) {
+        Set<UserField> userFields = parseFields(fields);
+        if (userFields == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            StreamingResponseBody body = outputStream -> writeUsersAsNdjson(outputStream, userFields);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+
+        StreamingResponseBody body = outputStream -> writeUsersAsJsonArray(outputStream, userFields);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PutMapping
     public ResponseEntity<Boolean> updateUser(@RequestBody UserDTO userDTO) {
         try {
+            if (asyncUserWriteService.isPresent()) {
+                return toEnqueuedResponse(asyncUserWriteService.get().enqueueUpdate(userDTO));
+            }
+
             boolean result = userService.updateUser(userDTO);
-            HttpStatus httpStatus = result ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
-            return ResponseEntity.status(httpStatus).body(true);
+            HttpStatus httpStatus = result ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+            return ResponseEntity.status(httpStatus).body(result);
         } catch (ServiceException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
+            HttpStatus httpStatus = isConflict(e) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(httpStatus).body(false);
         }
     }
 
@@ -93,10 +194,61 @@ public class UserController {
     public ResponseEntity<Boolean> deleteUserById(@RequestParam(name = "id")Long id) {
         try {
             boolean result = userService.deleteUserById(id);
-            HttpStatus httpStatus = result ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
-            return ResponseEntity.status(httpStatus).body(true);
+            HttpStatus httpStatus = result ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+            return ResponseEntity.status(httpStatus).body(result);
         } catch (ServiceException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(false);
         }
     }
+
+    private static ResponseEntity<Boolean> toEnqueuedResponse(boolean enqueued) {
+        HttpStatus httpStatus = enqueued ? HttpStatus.ACCEPTED : HttpStatus.TOO_MANY_REQUESTS;
+        return ResponseEntity.status(httpStatus).body(enqueued);
+    }
+
+    private boolean isConflict(ServiceException e) {
+        return OptimisticLockingFailureException.class.getSimpleName().equals(e.getMessage());
+    }
+
+    private static String toETag(Long version, Set<UserField> fields) {
+        int fieldMask = fields.stream().mapToInt(field -> 1 << field.ordinal()).sum();
+        String eTag = version + "-" + Integer.toHexString(fieldMask);
+        if (fields.contains(UserField.BIRTH_DATE)) eTag += "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        return "W/\"" + eTag + "\"";
+    }
+
+    private static Set<UserField> parseFields(String fields) {
+        try {
+            return UserField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeUsersAsJsonArray(OutputStream outputStream, Set<UserField> fields) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        generator.writeStartArray();
+        userService.streamUsers(fields, user -> {
+            try {
+                generator.writeObject(user);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private void writeUsersAsNdjson(OutputStream outputStream, Set<UserField> fields) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserView.class);
+        userService.streamUsers(fields, user -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(user));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        outputStream.flush();
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.user_profile.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    private int index;
+    private Long id;
+    private BatchStatus status;
+}
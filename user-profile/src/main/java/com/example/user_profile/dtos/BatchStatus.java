@@ -0,0 +1,12 @@
+package com.example.user_profile.dtos;
+
+public enum BatchStatus {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    DELETED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package com.example.user_profile.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkExportResultDTO {
+    private long rows;
+    private long bytes;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
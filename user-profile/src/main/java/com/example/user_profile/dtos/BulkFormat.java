@@ -0,0 +1,10 @@
+package com.example.user_profile.dtos;
+
+public enum BulkFormat {
+    CSV,
+    NDJSON;
+
+    public static BulkFormat fromFileName(String fileName) {
+        return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.user_profile.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDTO {
+    private long rows;
+    private long imported;
+    private long rejected;
+    private List<RejectedRowDTO> rejectedRows;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
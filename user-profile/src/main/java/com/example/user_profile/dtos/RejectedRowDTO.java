@@ -0,0 +1,13 @@
+package com.example.user_profile.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRowDTO {
+    private long line;
+    private String reason;
+}
@@ -12,4 +12,5 @@ public class UserDTO {
     private String gender;
     private LocalDate birthDate;
     private String role;
+    private Long version;
 }
@@ -0,0 +1,54 @@
+package com.example.user_profile.dtos;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public enum UserField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    EMAIL("email", "email"),
+    GENDER("gender", "gender"),
+    BIRTH_DATE("birthDate", "birth_date"),
+    ROLE("role", "role"),
+    VERSION("version", "version");
+
+    private final String property;
+    private final String column;
+
+    UserField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank()) return EnumSet.allOf(UserField.class);
+
+        Set<UserField> userFields = EnumSet.noneOf(UserField.class);
+        for (String field : fields.split(",")) {
+            userFields.add(fromProperty(field.trim()));
+        }
+        if (userFields.isEmpty()) throw new IllegalArgumentException("No fields selected");
+        return userFields;
+    }
+
+    public static String columns(Set<UserField> fields) {
+        return fields.stream().map(UserField::getColumn).collect(Collectors.joining(", "));
+    }
+
+    private static UserField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown field " + property));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.user_profile.dtos;
+
+import lombok.Data;
+
+@Data
+public class UserSearchDTO {
+    public static final int MAX_AGE = 150;
+
+    private String name;
+    private Integer minAge;
+    private Integer maxAge;
+    private String role;
+    private String gender;
+
+    public boolean hasFilters() {
+        return name != null || minAge != null || maxAge != null || role != null || gender != null;
+    }
+
+    public boolean hasValidAgeRange() {
+        if (minAge != null && (minAge < 0 || minAge > MAX_AGE)) return false;
+        if (maxAge != null && (maxAge < 0 || maxAge > MAX_AGE)) return false;
+        return minAge == null || maxAge == null || minAge <= maxAge;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.user_profile.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(value = "age", allowGetters = true)
+public record UserView(
+        Long id,
+        String name,
+        String email,
+        String gender,
+        LocalDate birthDate,
+        String role,
+        Long version
+) {
+    public Integer getAge() {
+        if (birthDate == null) return null;
+        return Math.toIntExact(ChronoUnit.YEARS.between(birthDate, LocalDate.now()));
+    }
+
+    public UserView select(Set<UserField> fields) {
+        return new UserView(
+                fields.contains(UserField.ID) ? id : null,
+                fields.contains(UserField.NAME) ? name : null,
+                fields.contains(UserField.EMAIL) ? email : null,
+                fields.contains(UserField.GENDER) ? gender : null,
+                fields.contains(UserField.BIRTH_DATE) ? birthDate : null,
+                fields.contains(UserField.ROLE) ? role : null,
+                fields.contains(UserField.VERSION) ? version : null
+        );
+    }
+}
@@ -5,15 +5,22 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "user")
+@Table(name = "user", indexes = {
+        @Index(name = "idx_user_name", columnList = "name"),
+        @Index(name = "idx_user_birth_date", columnList = "birth_date")
+})
 @Data
 @NoArgsConstructor
 public class User {
@@ -38,11 +45,17 @@ public class User {
     @NotNull
     private LocalDate birthDate;
 
-    @Column(name = "age")
-    @NotNull
-    private Integer age;
-
     @Column(name = "role")
     @NotNull
     private String role;
+
+    @Version
+    @Column(name = "version")
+    @ColumnDefault("0")
+    private Long version;
+
+    public Integer getAge() {
+        if (birthDate == null) return null;
+        return Math.toIntExact(ChronoUnit.YEARS.between(birthDate, LocalDate.now()));
+    }
 }
@@ -0,0 +1,45 @@
+package com.example.user_profile.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_change")
+@Data
+@NoArgsConstructor
+public class UserChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "user_id")
+    @NotNull
+    private Long userId;
+
+    @Column(name = "type")
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private UserChangeType type;
+
+    @Column(name = "changed_at")
+    @NotNull
+    private Instant changedAt;
+
+    public UserChange(Long userId, UserChangeType type, Instant changedAt) {
+        this.userId = userId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.user_profile.entities;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
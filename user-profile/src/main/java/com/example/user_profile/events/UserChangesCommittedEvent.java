@@ -0,0 +1,4 @@
+package com.example.user_profile.events;
+
+public record UserChangesCommittedEvent(long lastSeq) {
+}
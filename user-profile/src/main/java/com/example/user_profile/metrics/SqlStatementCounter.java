@@ -0,0 +1,23 @@
+package com.example.user_profile.metrics;
+
+public final class SqlStatementCounter {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) count[0]++;
+    }
+
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.entities.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Transactional
+public interface UserBatchRepository {
+    Long insertIfAbsent(User user);
+    int[] batchInsert(List<User> users);
+    int[] batchUpsert(List<User> users);
+    int[] batchUpdate(List<User> users);
+    int[] batchDelete(List<Long> ids);
+    Map<String, Long> findIdsByEmails(Collection<String> emails);
+    Set<Long> findExistingIds(Collection<Long> ids);
+}
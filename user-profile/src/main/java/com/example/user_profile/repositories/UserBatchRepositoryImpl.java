@@ -0,0 +1,124 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.entities.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT OR IGNORE INTO user (id, name, email, gender, birth_date, role, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_IF_ABSENT_SQL =
+            "INSERT INTO user (id, name, email, gender, birth_date, role, version)"
+            + " VALUES (:id, :name, :email, :gender, :birthDate, :role, 0)"
+            + " ON CONFLICT (email) DO NOTHING RETURNING id";
+    private static final String UPSERT_SQL =
+            "INSERT INTO user (id, name, email, gender, birth_date, role, version) VALUES (?, ?, ?, ?, ?, ?, 0)"
+            + " ON CONFLICT (email) DO UPDATE SET name = excluded.name, gender = excluded.gender,"
+            + " birth_date = excluded.birth_date, role = excluded.role, version = version + 1"
+            + " WHERE name <> excluded.name OR gender <> excluded.gender"
+            + " OR birth_date <> excluded.birth_date OR role <> excluded.role";
+    private static final String UPDATE_SQL = "UPDATE OR IGNORE user"
+            + " SET name = ?, email = ?, gender = ?, birth_date = ?, role = ?, version = version + 1"
+            + " WHERE id = ? AND (? IS NULL OR version = ?)";
+    private static final String DELETE_SQL = "DELETE FROM user WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Long insertIfAbsent(User user) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", user.getId())
+                .addValue("name", user.getName())
+                .addValue("email", user.getEmail())
+                .addValue("gender", user.getGender())
+                .addValue("birthDate", Date.valueOf(user.getBirthDate()))
+                .addValue("role", user.getRole());
+        List<Long> ids = jdbcTemplate.queryForList(INSERT_IF_ABSENT_SQL, parameters, Long.class);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    @Override
+    public int[] batchInsert(List<User> users) {
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, toInsertArgs(users));
+    }
+
+    @Override
+    public int[] batchUpsert(List<User> users) {
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, toInsertArgs(users));
+    }
+
+    @Override
+    public int[] batchUpdate(List<User> users) {
+        List<Object[]> batchArgs = users.stream()
+                .map(user -> new Object[]{
+                        user.getName(),
+                        user.getEmail(),
+                        user.getGender(),
+                        Date.valueOf(user.getBirthDate()),
+                        user.getRole(),
+                        user.getId(),
+                        user.getVersion(),
+                        user.getVersion()
+                })
+                .toList();
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SQL, batchArgs);
+    }
+
+    @Override
+    public int[] batchDelete(List<Long> ids) {
+        List<Object[]> batchArgs = ids.stream()
+                .map(id -> new Object[]{id})
+                .toList();
+        return jdbcTemplate.getJdbcTemplate().batchUpdate(DELETE_SQL, batchArgs);
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        if (emails.isEmpty()) return ids;
+
+        jdbcTemplate.query(
+                "SELECT id, email FROM user WHERE email IN (:emails)",
+                Map.of("emails", emails),
+                resultSet -> {
+                    ids.put(resultSet.getString("email"), resultSet.getLong("id"));
+                }
+        );
+        return ids;
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return new HashSet<>();
+
+        List<Long> existingIds = jdbcTemplate.queryForList(
+                "SELECT id FROM user WHERE id IN (:ids)",
+                Map.of("ids", ids),
+                Long.class
+        );
+        return new HashSet<>(existingIds);
+    }
+
+    private static List<Object[]> toInsertArgs(List<User> users) {
+        return users.stream()
+                .map(user -> new Object[]{
+                        user.getId(),
+                        user.getName(),
+                        user.getEmail(),
+                        user.getGender(),
+                        Date.valueOf(user.getBirthDate()),
+                        user.getRole()
+                })
+                .toList();
+    }
+}
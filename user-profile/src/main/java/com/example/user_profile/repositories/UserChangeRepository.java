@@ -0,0 +1,15 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.entities.UserChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface UserChangeRepository extends JpaRepository<UserChange, Long> {
+    List<UserChange> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+}
@@ -1,15 +1,50 @@
 package com.example.user_profile.repositories;
 
+import com.example.user_profile.dtos.UserView;
 import com.example.user_profile.entities.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository, UserViewRepository {
     Optional<User> findByEmail(String email);
-    Page<User> findByName(String name, Pageable pageable);
+
+    @Query("SELECT new com.example.user_profile.dtos.UserView(u.id, u.name, u.email, u.gender, u.birthDate, u.role, u.version)"
+            + " FROM User u WHERE u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.user_profile.dtos.UserView(u.id, u.name, u.email, u.gender, u.birthDate, u.role, u.version)"
+            + " FROM User u WHERE u.email = :email")
+    Optional<UserView> findViewByEmail(@Param("email") String email);
+
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.name = :#{#user.name}, u.email = :#{#user.email}, u.gender = :#{#user.gender},"
+            + " u.birthDate = :#{#user.birthDate}, u.role = :#{#user.role},"
+            + " u.version = u.version + 1"
+            + " WHERE u.id = :#{#user.id}")
+    int updateById(@Param("user") User user);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.name = :#{#user.name}, u.email = :#{#user.email}, u.gender = :#{#user.gender},"
+            + " u.birthDate = :#{#user.birthDate}, u.role = :#{#user.role},"
+            + " u.version = u.version + 1"
+            + " WHERE u.id = :#{#user.id} AND u.version = :#{#user.version}")
+    int updateByIdAndVersion(@Param("user") User user);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int removeById(@Param("id") Long id);
 }
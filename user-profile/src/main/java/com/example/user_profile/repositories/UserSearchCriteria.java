@@ -0,0 +1,18 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.dtos.UserView;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+public record UserSearchCriteria(String namePrefix, LocalDate bornFrom, LocalDate bornTo, String role, String gender) {
+    public Comparator<UserView> ordering() {
+        if (namePrefix != null) {
+            return Comparator.comparing(UserView::name, String.CASE_INSENSITIVE_ORDER).thenComparing(UserView::id);
+        }
+        if (bornFrom != null || bornTo != null) {
+            return Comparator.comparing(UserView::birthDate).thenComparing(UserView::id);
+        }
+        return Comparator.comparing(UserView::id);
+    }
+}
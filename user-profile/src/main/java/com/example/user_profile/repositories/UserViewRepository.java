@@ -0,0 +1,21 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+public interface UserViewRepository {
+    Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable);
+    List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit);
+    Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable);
+    Stream<UserView> streamViews(Set<UserField> fields);
+    Map<String, Map<String, Long>> countFacets();
+}
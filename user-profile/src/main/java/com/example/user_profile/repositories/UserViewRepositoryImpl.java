@@ -0,0 +1,115 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class UserViewRepositoryImpl implements UserViewRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable) {
+        String sql = "SELECT " + UserField.columns(fields) + " FROM user WHERE name = :name"
+                + " ORDER BY id LIMIT :limit OFFSET :offset";
+        MapSqlParameterSource parameters = pageParameters(pageable).addValue("name", name);
+        return toSlice(jdbcTemplate.query(sql, parameters, new UserViewRowMapper(fields)), pageable);
+    }
+
+    @Override
+    public List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit) {
+        String sql = "SELECT " + UserField.columns(fields) + " FROM user WHERE id > :id ORDER BY id LIMIT :limit";
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, parameters, new UserViewRowMapper(fields));
+    }
+
+    @Override
+    public Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource parameters = pageParameters(pageable);
+
+        if (criteria.namePrefix() != null) {
+            conditions.add("name LIKE :pattern ESCAPE '\\'");
+            parameters.addValue("pattern", toPrefixPattern(criteria.namePrefix()));
+        }
+        if (criteria.bornFrom() != null) {
+            conditions.add("birth_date >= :bornFrom");
+            parameters.addValue("bornFrom", Date.valueOf(criteria.bornFrom()));
+        }
+        if (criteria.bornTo() != null) {
+            conditions.add("birth_date <= :bornTo");
+            parameters.addValue("bornTo", Date.valueOf(criteria.bornTo()));
+        }
+        if (criteria.role() != null) {
+            conditions.add("role = :role");
+            parameters.addValue("role", criteria.role());
+        }
+        if (criteria.gender() != null) {
+            conditions.add("gender = :gender");
+            parameters.addValue("gender", criteria.gender());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(UserField.columns(fields)).append(" FROM user");
+        if (!conditions.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        sql.append(" ORDER BY ").append(orderBy(criteria));
+        sql.append(" LIMIT :limit OFFSET :offset");
+
+        return toSlice(jdbcTemplate.query(sql.toString(), parameters, new UserViewRowMapper(fields)), pageable);
+    }
+
+    @Override
+    public Stream<UserView> streamViews(Set<UserField> fields) {
+        String sql = "SELECT " + UserField.columns(fields) + " FROM user ORDER BY id";
+        return jdbcTemplate.queryForStream(sql, new MapSqlParameterSource(), new UserViewRowMapper(fields));
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countFacets() {
+        Map<String, Map<String, Long>> facets = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT facet, value, count FROM user_facet_count WHERE count > 0",
+                resultSet -> {
+                    facets.computeIfAbsent(resultSet.getString("facet"), facet -> new TreeMap<>())
+                            .put(resultSet.getString("value"), resultSet.getLong("count"));
+                }
+        );
+        return facets;
+    }
+
+    private static MapSqlParameterSource pageParameters(Pageable pageable) {
+        return new MapSqlParameterSource()
+                .addValue("limit", pageable.getPageSize() + 1)
+                .addValue("offset", pageable.getOffset());
+    }
+
+    private static Slice<UserView> toSlice(List<UserView> users, Pageable pageable) {
+        boolean hasNext = users.size() > pageable.getPageSize();
+        if (hasNext) users = users.subList(0, pageable.getPageSize());
+        return new SliceImpl<>(users, pageable, hasNext);
+    }
+
+    private static String orderBy(UserSearchCriteria criteria) {
+        if (criteria.namePrefix() != null) return "name COLLATE NOCASE, id";
+        if (criteria.bornFrom() != null || criteria.bornTo() != null) return "birth_date, id";
+        return "id";
+    }
+
+    private static String toPrefixPattern(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
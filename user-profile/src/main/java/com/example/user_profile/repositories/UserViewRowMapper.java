@@ -0,0 +1,42 @@
+package com.example.user_profile.repositories;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Set;
+
+public class UserViewRowMapper implements RowMapper<UserView> {
+    private final Set<UserField> fields;
+
+    public UserViewRowMapper(Set<UserField> fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public UserView mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return new UserView(
+                fields.contains(UserField.ID) ? getLong(resultSet, "id") : null,
+                fields.contains(UserField.NAME) ? resultSet.getString("name") : null,
+                fields.contains(UserField.EMAIL) ? resultSet.getString("email") : null,
+                fields.contains(UserField.GENDER) ? resultSet.getString("gender") : null,
+                fields.contains(UserField.BIRTH_DATE) ? getBirthDate(resultSet) : null,
+                fields.contains(UserField.ROLE) ? resultSet.getString("role") : null,
+                fields.contains(UserField.VERSION) ? getLong(resultSet, "version") : null
+        );
+    }
+
+    private static Long getLong(ResultSet resultSet, String column) throws SQLException {
+        long value = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static LocalDate getBirthDate(ResultSet resultSet) throws SQLException {
+        Date birthDate = resultSet.getDate("birth_date");
+        return birthDate == null ? null : birthDate.toLocalDate();
+    }
+}
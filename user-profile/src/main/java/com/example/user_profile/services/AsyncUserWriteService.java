@@ -0,0 +1,9 @@
+package com.example.user_profile.services;
+
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.exceptions.ServiceException;
+
+public interface AsyncUserWriteService {
+    boolean enqueueCreate(UserDTO userDTO) throws ServiceException;
+    boolean enqueueUpdate(UserDTO userDTO) throws ServiceException;
+}
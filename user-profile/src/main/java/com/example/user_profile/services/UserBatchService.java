@@ -0,0 +1,14 @@
+package com.example.user_profile.services;
+
+import com.example.user_profile.dtos.BatchResultDTO;
+import com.example.user_profile.dtos.UserDTO;
+
+import java.util.Iterator;
+import java.util.List;
+
+public interface UserBatchService {
+    List<BatchResultDTO> createUsers(Iterator<UserDTO> userDTOs);
+    List<BatchResultDTO> upsertUsers(Iterator<UserDTO> userDTOs);
+    List<BatchResultDTO> updateUsers(Iterator<UserDTO> userDTOs);
+    List<BatchResultDTO> deleteUsersByIds(Iterator<Long> ids);
+}
@@ -0,0 +1,14 @@
+package com.example.user_profile.services;
+
+import com.example.user_profile.dtos.BulkExportResultDTO;
+import com.example.user_profile.dtos.BulkFormat;
+import com.example.user_profile.dtos.BulkImportResultDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.exceptions.ServiceException;
+
+import java.util.Set;
+
+public interface UserBulkService {
+    BulkImportResultDTO importUsers(String file, BulkFormat format) throws ServiceException;
+    BulkExportResultDTO exportUsers(String file, BulkFormat format, Set<UserField> fields) throws ServiceException;
+}
@@ -0,0 +1,14 @@
+package com.example.user_profile.services;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+public interface UserChangeService {
+    void recordChange(Long userId, UserChangeType type);
+    void recordChanges(List<Long> userIds, UserChangeType type);
+    List<UserChange> getChangesSince(Long since, Integer limit);
+    DeferredResult<List<UserChange>> awaitChangesSince(Long since, Integer limit, Long timeout);
+}
@@ -1,17 +1,26 @@
 package com.example.user_profile.services;
 
 import com.example.user_profile.dtos.UserDTO;
-import com.example.user_profile.entities.User;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserSearchDTO;
+import com.example.user_profile.dtos.UserView;
 import com.example.user_profile.exceptions.ServiceException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserService {
-    boolean createUser(UserDTO userDTO) throws ServiceException;
-    User getUserById(Long id);
-    User getUserByEmail(String email);
-    List<User> getUsersByName(String name, Integer page, Integer size);
-    List<User> getUsers();
+    Long createUser(UserDTO userDTO) throws ServiceException;
+    UserView getUserById(Long id);
+    Long getUserVersionById(Long id);
+    UserView getUserByEmail(String email);
+    List<UserView> getUsersByName(String name, Set<UserField> fields, Integer page, Integer size);
+    List<UserView> searchUsers(UserSearchDTO userSearchDTO, Set<UserField> fields, Integer page, Integer size);
+    List<UserView> getUsersAfter(Long after, Set<UserField> fields, Integer limit);
+    void streamUsers(Set<UserField> fields, Consumer<UserView> consumer);
+    Map<String, Map<String, Long>> getFacetCounts();
     boolean updateUser(UserDTO userDTO) throws ServiceException;
     boolean deleteUserById(Long id) throws ServiceException;
 }
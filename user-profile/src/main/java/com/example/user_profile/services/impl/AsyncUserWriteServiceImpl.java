@@ -0,0 +1,211 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.dtos.BatchResultDTO;
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.AsyncUserWriteService;
+import com.example.user_profile.services.UserBatchService;
+import com.example.user_profile.validators.UserValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+@Service
+@ConditionalOnProperty(name = "user.write.async.enabled", havingValue = "true")
+public class AsyncUserWriteServiceImpl implements AsyncUserWriteService, SmartLifecycle {
+    private final UserBatchService userBatchService;
+    private final UserValidator userValidator;
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Counter coalescedWrites;
+    private final Counter rejectedWrites;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private List<UserDTO> pendingCreates = new ArrayList<>();
+    private List<UserDTO> pendingUpdates = new ArrayList<>();
+    private Map<Long, Integer> unversionedUpdates = new HashMap<>();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AsyncUserWriteServiceImpl(
+            UserBatchService userBatchService,
+            UserValidator userValidator,
+            MeterRegistry meterRegistry,
+            @Value("${user.write.async.queue-capacity:10000}") int capacity,
+            @Value("${user.write.async.batch-size:500}") int batchSize,
+            @Value("${user.write.async.flush-interval-ms:10}") long flushIntervalMillis
+    ) {
+        this.userBatchService = userBatchService;
+        this.userValidator = userValidator;
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.coalescedWrites = meterRegistry.counter("user.write.async.coalesced");
+        this.rejectedWrites = meterRegistry.counter("user.write.async.rejected");
+        Gauge.builder("user.write.async.pending", this, AsyncUserWriteServiceImpl::pendingCount).register(meterRegistry);
+    }
+
+    @Override
+    public boolean enqueueCreate(UserDTO userDTO) throws ServiceException {
+        validate(userDTO, false);
+        return enqueue(() -> false, () -> pendingCreates.add(userDTO));
+    }
+
+    @Override
+    public boolean enqueueUpdate(UserDTO userDTO) throws ServiceException {
+        if (userDTO.getId() == null) throw new ServiceException("IllegalArgumentException");
+
+        validate(userDTO, true);
+        return enqueue(() -> coalesceUpdate(userDTO), () -> appendUpdate(userDTO));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "user-write-flusher");
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            batchReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void validate(UserDTO userDTO, boolean keepId) throws ServiceException {
+        try {
+            User user = UserServiceImpl.copyUserDtoToUser(new User(), userDTO);
+            if (!keepId) user.setId(null);
+            userValidator.validate(user);
+        } catch (ConstraintViolationException e) {
+            throw new ServiceException("ConstraintViolationException");
+        }
+    }
+
+    private boolean enqueue(BooleanSupplier coalesce, Runnable append) {
+        lock.lock();
+        try {
+            if (!running) return false;
+
+            if (coalesce.getAsBoolean()) {
+                coalescedWrites.increment();
+                return true;
+            }
+            if (pendingCount() >= capacity) {
+                rejectedWrites.increment();
+                return false;
+            }
+
+            append.run();
+            if (pendingCount() >= batchSize) batchReady.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean coalesceUpdate(UserDTO userDTO) {
+        if (userDTO.getVersion() != null) return false;
+
+        Integer index = unversionedUpdates.get(userDTO.getId());
+        if (index == null) return false;
+        pendingUpdates.set(index, userDTO);
+        return true;
+    }
+
+    private void appendUpdate(UserDTO userDTO) {
+        if (userDTO.getVersion() == null) {
+            unversionedUpdates.put(userDTO.getId(), pendingUpdates.size());
+        } else {
+            unversionedUpdates.remove(userDTO.getId());
+        }
+        pendingUpdates.add(userDTO);
+    }
+
+    private int pendingCount() {
+        return pendingCreates.size() + pendingUpdates.size();
+    }
+
+    private void flushLoop() {
+        boolean draining = true;
+        while (draining) {
+            List<UserDTO> creates;
+            List<UserDTO> updates;
+            lock.lock();
+            try {
+                if (running && pendingCount() < batchSize) {
+                    batchReady.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+                draining = running;
+                creates = pendingCreates;
+                updates = pendingUpdates;
+                pendingCreates = new ArrayList<>();
+                pendingUpdates = new ArrayList<>();
+                unversionedUpdates = new HashMap<>();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            flush(creates, updates);
+        }
+    }
+
+    private void flush(List<UserDTO> creates, List<UserDTO> updates) {
+        try {
+            if (!creates.isEmpty()) recordResults(userBatchService.createUsers(creates.iterator()));
+            if (!updates.isEmpty()) recordResults(userBatchService.updateUsers(updates.iterator()));
+        } catch (RuntimeException e) {
+            meterRegistry.counter("user.write.async.results", "status", "FAILED")
+                    .increment(creates.size() + updates.size());
+        }
+    }
+
+    private void recordResults(List<BatchResultDTO> results) {
+        for (BatchResultDTO result : results) {
+            meterRegistry.counter("user.write.async.results", "status", result.getStatus().name()).increment();
+        }
+    }
+}
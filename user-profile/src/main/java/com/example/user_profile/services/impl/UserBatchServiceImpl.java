@@ -0,0 +1,269 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.caches.UserCache;
+import com.example.user_profile.dtos.BatchResultDTO;
+import com.example.user_profile.dtos.BatchStatus;
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.services.UserBatchService;
+import com.example.user_profile.services.UserChangeService;
+import com.example.user_profile.storage.PartialBatchFailureException;
+import com.example.user_profile.storage.UserStore;
+import com.example.user_profile.validators.UserValidator;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+@Service
+public class UserBatchServiceImpl implements UserBatchService {
+    private final UserStore userStore;
+    private final UserValidator userValidator;
+    private final UserCache userCache;
+    private final UserChangeService userChangeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public UserBatchServiceImpl(
+            UserStore userStore,
+            UserValidator userValidator,
+            UserCache userCache,
+            UserChangeService userChangeService,
+            PlatformTransactionManager transactionManager,
+            @Value("${user.batch.chunk-size:500}") int chunkSize
+    ) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Invalid batch chunk size " + chunkSize);
+        this.userStore = userStore;
+        this.userValidator = userValidator;
+        this.userCache = userCache;
+        this.userChangeService = userChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public List<BatchResultDTO> createUsers(Iterator<UserDTO> userDTOs) {
+        return processInChunks(userDTOs, this::createChunk);
+    }
+
+    @Override
+    public List<BatchResultDTO> upsertUsers(Iterator<UserDTO> userDTOs) {
+        return processInChunks(userDTOs, this::upsertChunk);
+    }
+
+    @Override
+    public List<BatchResultDTO> updateUsers(Iterator<UserDTO> userDTOs) {
+        return processInChunks(userDTOs, this::updateChunk);
+    }
+
+    @Override
+    public List<BatchResultDTO> deleteUsersByIds(Iterator<Long> ids) {
+        return processInChunks(ids, this::deleteChunk);
+    }
+
+    private <T> List<BatchResultDTO> processInChunks(
+            Iterator<T> items,
+            BiFunction<List<T>, Integer, List<BatchResultDTO>> chunkProcessor
+    ) {
+        List<BatchResultDTO> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (items.hasNext()) {
+            chunk.add(items.next());
+            if (chunk.size() == chunkSize) {
+                results.addAll(chunkProcessor.apply(chunk, results.size()));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) results.addAll(chunkProcessor.apply(chunk, results.size()));
+        return results;
+    }
+
+    private List<BatchResultDTO> createChunk(List<UserDTO> userDTOs, int offset) {
+        BatchResultDTO[] results = new BatchResultDTO[userDTOs.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<User> users = collectValidUsers(userDTOs, offset, false, results, positions);
+        if (users.isEmpty()) return Arrays.asList(results);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int[] counts = PartialBatchFailureException.appliedCounts(() -> userStore.batchInsert(users));
+                Map<String, Long> ids = userStore.findIdsByEmails(users.stream().map(User::getEmail).toList());
+                List<Long> createdIds = new ArrayList<>();
+                for (int i = 0; i < users.size(); i++) {
+                    int position = positions.get(i);
+                    Long id = ids.get(users.get(i).getEmail());
+                    if (counts[i] > 0) createdIds.add(id);
+                    results[position] = PartialBatchFailureException.isFailed(counts[i])
+                            ? new BatchResultDTO(offset + position, null, BatchStatus.FAILED)
+                            : counts[i] > 0
+                                    ? new BatchResultDTO(offset + position, id, BatchStatus.CREATED)
+                                    : new BatchResultDTO(offset + position, null, BatchStatus.CONFLICT);
+                }
+                userChangeService.recordChanges(createdIds, UserChangeType.CREATED);
+            });
+        } catch (DataAccessException e) {
+            markFailed(results, offset, positions, users.stream().map(User::getId).toList());
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<BatchResultDTO> upsertChunk(List<UserDTO> userDTOs, int offset) {
+        BatchResultDTO[] results = new BatchResultDTO[userDTOs.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<User> users = collectValidUsers(userDTOs, offset, false, results, positions);
+        if (users.isEmpty()) return Arrays.asList(results);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> emails = users.stream().map(User::getEmail).toList();
+                Set<String> existingEmails = new HashSet<>(userStore.findIdsByEmails(emails).keySet());
+                int[] counts = PartialBatchFailureException.appliedCounts(() -> userStore.batchUpsert(users));
+                Map<String, Long> ids = userStore.findIdsByEmails(emails);
+                List<Long> createdIds = new ArrayList<>();
+                List<Long> updatedIds = new ArrayList<>();
+                for (int i = 0; i < users.size(); i++) {
+                    int position = positions.get(i);
+                    String email = users.get(i).getEmail();
+                    Long id = ids.get(email);
+                    BatchStatus batchStatus = PartialBatchFailureException.isFailed(counts[i])
+                            ? BatchStatus.FAILED
+                            : existingEmails.add(email)
+                                    ? BatchStatus.CREATED
+                                    : counts[i] > 0 ? BatchStatus.UPDATED : BatchStatus.UNCHANGED;
+                    results[position] = new BatchResultDTO(offset + position, id, batchStatus);
+                    if (batchStatus == BatchStatus.CREATED) createdIds.add(id);
+                    if (batchStatus == BatchStatus.UPDATED) {
+                        userCache.evictById(id);
+                        updatedIds.add(id);
+                    }
+                }
+                userChangeService.recordChanges(createdIds, UserChangeType.CREATED);
+                userChangeService.recordChanges(updatedIds, UserChangeType.UPDATED);
+            });
+        } catch (DataAccessException e) {
+            markFailed(results, offset, positions, users.stream().map(User::getId).toList());
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<BatchResultDTO> updateChunk(List<UserDTO> userDTOs, int offset) {
+        BatchResultDTO[] results = new BatchResultDTO[userDTOs.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<User> users = collectValidUsers(userDTOs, offset, true, results, positions);
+        if (users.isEmpty()) return Arrays.asList(results);
+
+        List<Long> ids = users.stream().map(User::getId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int[] counts = PartialBatchFailureException.appliedCounts(() -> userStore.batchUpdate(users));
+                List<Long> unchangedIds = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) unchangedIds.add(ids.get(i));
+                }
+                Set<Long> existingIds = userStore.findExistingIds(unchangedIds);
+
+                List<Long> updatedIds = new ArrayList<>();
+                for (int i = 0; i < users.size(); i++) {
+                    Long id = ids.get(i);
+                    BatchStatus batchStatus = PartialBatchFailureException.isFailed(counts[i])
+                            ? BatchStatus.FAILED
+                            : counts[i] > 0
+                                    ? BatchStatus.UPDATED
+                                    : existingIds.contains(id) ? BatchStatus.CONFLICT : BatchStatus.NOT_FOUND;
+                    results[positions.get(i)] = new BatchResultDTO(offset + positions.get(i), id, batchStatus);
+                    if (batchStatus == BatchStatus.UPDATED) {
+                        userCache.evictById(id);
+                        updatedIds.add(id);
+                    }
+                }
+                userChangeService.recordChanges(updatedIds, UserChangeType.UPDATED);
+            });
+        } catch (DataAccessException e) {
+            markFailed(results, offset, positions, ids);
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<BatchResultDTO> deleteChunk(List<Long> ids, int offset) {
+        BatchResultDTO[] results = new BatchResultDTO[ids.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Long> validIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = new BatchResultDTO(offset + i, null, BatchStatus.INVALID);
+            } else {
+                positions.add(i);
+                validIds.add(ids.get(i));
+            }
+        }
+        if (validIds.isEmpty()) return Arrays.asList(results);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int[] counts = PartialBatchFailureException.appliedCounts(() -> userStore.batchDelete(validIds));
+                List<Long> deletedIds = new ArrayList<>();
+                for (int i = 0; i < validIds.size(); i++) {
+                    Long id = validIds.get(i);
+                    BatchStatus batchStatus = PartialBatchFailureException.isFailed(counts[i])
+                            ? BatchStatus.FAILED
+                            : counts[i] > 0 ? BatchStatus.DELETED : BatchStatus.NOT_FOUND;
+                    results[positions.get(i)] = new BatchResultDTO(offset + positions.get(i), id, batchStatus);
+                    if (batchStatus == BatchStatus.DELETED) {
+                        userCache.evictById(id);
+                        deletedIds.add(id);
+                    }
+                }
+                userChangeService.recordChanges(deletedIds, UserChangeType.DELETED);
+            });
+        } catch (DataAccessException e) {
+            markFailed(results, offset, positions, validIds);
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<User> collectValidUsers(
+            List<UserDTO> userDTOs,
+            int offset,
+            boolean requireId,
+            BatchResultDTO[] results,
+            List<Integer> positions
+    ) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userDTOs.size(); i++) {
+            UserDTO userDTO = userDTOs.get(i);
+            if (userDTO == null || (requireId && userDTO.getId() == null)) {
+                results[i] = new BatchResultDTO(offset + i, null, BatchStatus.INVALID);
+                continue;
+            }
+
+            try {
+                User user = UserServiceImpl.copyUserDtoToUser(new User(), userDTO);
+                if (!requireId) user.setId(null);
+                userValidator.validate(user);
+                users.add(user);
+                positions.add(i);
+            } catch (ConstraintViolationException e) {
+                results[i] = new BatchResultDTO(offset + i, userDTO.getId(), BatchStatus.INVALID);
+            }
+        }
+        return users;
+    }
+
+    private void markFailed(BatchResultDTO[] results, int offset, List<Integer> positions, List<Long> ids) {
+        for (int i = 0; i < positions.size(); i++) {
+            results[positions.get(i)] = new BatchResultDTO(offset + positions.get(i), ids.get(i), BatchStatus.FAILED);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.bulk.MappedLineReader;
+import com.example.user_profile.bulk.UserCsvCodec;
+import com.example.user_profile.dtos.BulkExportResultDTO;
+import com.example.user_profile.dtos.BulkFormat;
+import com.example.user_profile.dtos.BulkImportResultDTO;
+import com.example.user_profile.dtos.RejectedRowDTO;
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.UserBulkService;
+import com.example.user_profile.services.UserChangeService;
+import com.example.user_profile.storage.PartialBatchFailureException;
+import com.example.user_profile.storage.UserStore;
+import com.example.user_profile.validators.UserValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class UserBulkServiceImpl implements UserBulkService {
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+
+    private final UserStore userStore;
+    private final UserValidator userValidator;
+    private final UserChangeService userChangeService;
+    private final ObjectReader userReader;
+    private final ObjectWriter userWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final int maxReportedRejections;
+
+    public UserBulkServiceImpl(
+            UserStore userStore,
+            UserValidator userValidator,
+            UserChangeService userChangeService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${user.bulk.directory:data/bulk}") String directory,
+            @Value("${user.bulk.chunk-size:5000}") int chunkSize,
+            @Value("${user.bulk.max-reported-rejections:1000}") int maxReportedRejections
+    ) {
+        this.userStore = userStore;
+        this.userValidator = userValidator;
+        this.userChangeService = userChangeService;
+        this.userReader = objectMapper.readerFor(UserDTO.class);
+        this.userWriter = objectMapper.writerFor(UserView.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    @Override
+    @Timed(value = "user.bulk", extraTags = {"operation", "import"}, histogram = true)
+    public BulkImportResultDTO importUsers(String file, BulkFormat format) throws ServiceException {
+        long startedAt = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        try (MappedLineReader reader = MappedLineReader.open(resolve(file))) {
+            RowParser parser = createParser(reader, format);
+            CompletableFuture<List<ParsedRow>> pending = null;
+            List<MappedLineReader.Line> lines;
+            while (!(lines = readChunk(reader)).isEmpty()) {
+                List<MappedLineReader.Line> chunk = lines;
+                CompletableFuture<List<ParsedRow>> parsed = CompletableFuture.supplyAsync(() -> parseChunk(chunk, parser));
+                if (pending != null) writeChunk(pending.join(), progress);
+                pending = parsed;
+            }
+            if (pending != null) writeChunk(pending.join(), progress);
+        } catch (NoSuchFileException e) {
+            throw new ServiceException("NoSuchFileException");
+        } catch (IOException e) {
+            throw new ServiceException("IOException");
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("IllegalArgumentException");
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return new BulkImportResultDTO(
+                progress.rows,
+                progress.imported,
+                progress.rejected,
+                progress.rejectedRows,
+                elapsedNanos / 1_000_000,
+                rowsPerSecond(progress.rows, elapsedNanos)
+        );
+    }
+
+    @Override
+    @Timed(value = "user.bulk", extraTags = {"operation", "export"}, histogram = true)
+    public BulkExportResultDTO exportUsers(String file, BulkFormat format, Set<UserField> fields) throws ServiceException {
+        long startedAt = System.nanoTime();
+        Path target = resolve(file);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        AtomicLong rows = new AtomicLong();
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temporary), OUTPUT_BUFFER_SIZE)) {
+                UserCsvCodec codec = format == BulkFormat.CSV ? UserCsvCodec.forFields(fields) : null;
+                if (codec != null) writeLine(outputStream, codec.header().getBytes(StandardCharsets.UTF_8));
+                readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<UserView> users = userStore.streamViews(fields)) {
+                        users.forEach(user -> {
+                            writeLine(outputStream, codec != null
+                                    ? codec.format(user).getBytes(StandardCharsets.UTF_8)
+                                    : toJson(user));
+                            rows.incrementAndGet();
+                        });
+                    }
+                });
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long elapsedNanos = System.nanoTime() - startedAt;
+            return new BulkExportResultDTO(
+                    rows.get(),
+                    Files.size(target),
+                    elapsedNanos / 1_000_000,
+                    rowsPerSecond(rows.get(), elapsedNanos)
+            );
+        } catch (IOException | UncheckedIOException e) {
+            deleteQuietly(temporary);
+            throw new ServiceException("IOException");
+        }
+    }
+
+    private Path resolve(String file) throws ServiceException {
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || path.equals(directory)) throw new ServiceException("IllegalArgumentException");
+        return path;
+    }
+
+    private RowParser createParser(MappedLineReader reader, BulkFormat format) throws IOException {
+        if (format == BulkFormat.NDJSON) return line -> userReader.readValue(new ByteBufferBackedInputStream(line.content().duplicate()));
+
+        MappedLineReader.Line header = reader.next();
+        while (header != null && header.isBlank()) header = reader.next();
+        if (header == null) return line -> null;
+
+        UserCsvCodec codec = UserCsvCodec.fromHeader(decode(header));
+        return line -> codec.parse(decode(line));
+    }
+
+    private List<MappedLineReader.Line> readChunk(MappedLineReader reader) throws IOException {
+        List<MappedLineReader.Line> lines = new ArrayList<>(chunkSize);
+        MappedLineReader.Line line;
+        while (lines.size() < chunkSize && (line = reader.next()) != null) {
+            if (!line.isBlank()) lines.add(line);
+        }
+        return lines;
+    }
+
+    private List<ParsedRow> parseChunk(List<MappedLineReader.Line> lines, RowParser parser) {
+        return lines.parallelStream().map(line -> parseRow(line, parser)).toList();
+    }
+
+    private ParsedRow parseRow(MappedLineReader.Line line, RowParser parser) {
+        try {
+            UserDTO userDTO = parser.parse(line);
+            if (userDTO == null) return new ParsedRow(line.number(), null, "Empty row");
+
+            User user = UserServiceImpl.copyUserDtoToUser(new User(), userDTO);
+            user.setId(null);
+            user.setVersion(null);
+            userValidator.validate(user);
+            return new ParsedRow(line.number(), user, null);
+        } catch (ConstraintViolationException e) {
+            String reason = e.getConstraintViolations().stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return new ParsedRow(line.number(), null, reason);
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(line.number(), null, e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(line.number(), null, e.getMessage());
+        } catch (IOException e) {
+            return new ParsedRow(line.number(), null, e.getClass().getSimpleName());
+        }
+    }
+
+    private void writeChunk(List<ParsedRow> rows, ImportProgress progress) {
+        List<ParsedRow> validRows = new ArrayList<>();
+        for (ParsedRow row : rows) {
+            progress.rows++;
+            if (row.user() == null) {
+                progress.reject(row.line(), row.rejection(), maxReportedRejections);
+            } else {
+                validRows.add(row);
+            }
+        }
+        if (validRows.isEmpty()) return;
+
+        List<User> users = validRows.stream().map(ParsedRow::user).toList();
+        try {
+            int[] counts = transactionTemplate.execute(status -> {
+                int[] insertCounts = PartialBatchFailureException.appliedCounts(() -> userStore.batchInsert(users));
+                List<String> insertedEmails = new ArrayList<>();
+                for (int i = 0; i < users.size(); i++) {
+                    if (insertCounts[i] > 0) insertedEmails.add(users.get(i).getEmail());
+                }
+                Map<String, Long> ids = userStore.findIdsByEmails(insertedEmails);
+                userChangeService.recordChanges(insertedEmails.stream().map(ids::get).toList(), UserChangeType.CREATED);
+                return insertCounts;
+            });
+            for (int i = 0; i < validRows.size(); i++) {
+                if (PartialBatchFailureException.isFailed(counts[i])) {
+                    progress.reject(validRows.get(i).line(), "PartialBatchFailureException", maxReportedRejections);
+                } else if (counts[i] > 0) {
+                    progress.imported++;
+                } else {
+                    progress.reject(validRows.get(i).line(), "Email already exists", maxReportedRejections);
+                }
+            }
+        } catch (DataAccessException e) {
+            for (ParsedRow row : validRows) {
+                progress.reject(row.line(), e.getClass().getSimpleName(), maxReportedRejections);
+            }
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, byte[] line) {
+        try {
+            outputStream.write(line);
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] toJson(UserView user) {
+        try {
+            return userWriter.writeValueAsBytes(user);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String decode(MappedLineReader.Line line) {
+        return StandardCharsets.UTF_8.decode(line.content().duplicate()).toString();
+    }
+
+    private static double rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos == 0 ? 0.0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        UserDTO parse(MappedLineReader.Line line) throws IOException;
+    }
+
+    private record ParsedRow(long line, User user, String rejection) {
+    }
+
+    private static class ImportProgress {
+        private final List<RejectedRowDTO> rejectedRows = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        private void reject(long line, String reason, int maxReportedRejections) {
+            rejected++;
+            if (rejectedRows.size() < maxReportedRejections) rejectedRows.add(new RejectedRowDTO(line, reason));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.events.UserChangesCommittedEvent;
+import com.example.user_profile.services.UserChangeService;
+import com.example.user_profile.storage.UserChangeLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Service
+@RequiredArgsConstructor
+public class UserChangeServiceImpl implements UserChangeService {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+    private static final long DEFAULT_TIMEOUT = 30000;
+    private static final long MAX_TIMEOUT = 60000;
+
+    private final UserChangeLog userChangeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Queue<ChangeWaiter> waiters = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void recordChange(Long userId, UserChangeType type) {
+        recordChanges(List.of(userId), type);
+    }
+
+    @Override
+    public void recordChanges(List<Long> userIds, UserChangeType type) {
+        if (userIds.isEmpty()) return;
+
+        long lastSeq = userChangeLog.recordChanges(userIds, type);
+        eventPublisher.publishEvent(new UserChangesCommittedEvent(lastSeq));
+    }
+
+    @Override
+    public List<UserChange> getChangesSince(Long since, Integer limit) {
+        return userChangeLog.findChangesSince(normalizeSince(since), normalizeLimit(limit));
+    }
+
+    @Override
+    public DeferredResult<List<UserChange>> awaitChangesSince(Long since, Integer limit, Long timeout) {
+        long normalizedSince = normalizeSince(since);
+        int normalizedLimit = normalizeLimit(limit);
+        if (timeout == null || timeout < 0) timeout = DEFAULT_TIMEOUT;
+        if (timeout > MAX_TIMEOUT) timeout = MAX_TIMEOUT;
+
+        DeferredResult<List<UserChange>> result = new DeferredResult<>(timeout, List.of());
+        if (timeout > 0) {
+            ChangeWaiter waiter = new ChangeWaiter(normalizedSince, normalizedLimit, result);
+            waiters.add(waiter);
+            result.onCompletion(() -> waiters.remove(waiter));
+        }
+
+        List<UserChange> changes = getChangesSince(normalizedSince, normalizedLimit);
+        if (!changes.isEmpty() || timeout == 0) result.setResult(changes);
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChangesCommitted(UserChangesCommittedEvent event) {
+        for (ChangeWaiter waiter : waiters) {
+            if (event.lastSeq() <= waiter.since() || waiter.result().isSetOrExpired()) continue;
+
+            List<UserChange> changes = getChangesSince(waiter.since(), waiter.limit());
+            if (!changes.isEmpty() && waiter.result().setResult(changes)) waiters.remove(waiter);
+        }
+    }
+
+    private static long normalizeSince(Long since) {
+        return since == null || since < 0 ? 0L : since;
+    }
+
+    private static int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_LIMIT;
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private record ChangeWaiter(long since, int limit, DeferredResult<List<UserChange>> result) {
+    }
+}
@@ -1,40 +1,61 @@
 package com.example.user_profile.services.impl;
 
+import com.example.user_profile.caches.UserCache;
+import com.example.user_profile.caches.UserLookupSingleFlight;
 import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserSearchDTO;
+import com.example.user_profile.dtos.UserView;
 import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChangeType;
 import com.example.user_profile.exceptions.ServiceException;
-import com.example.user_profile.repositories.UserRepository;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import com.example.user_profile.services.UserChangeService;
 import com.example.user_profile.services.UserService;
-import jakarta.validation.ConstraintViolation;
+import com.example.user_profile.storage.UserStore;
+import com.example.user_profile.validators.UserValidator;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Validation;
-import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
-    private final UserRepository userRepository;
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final UserStore userStore;
+    private final UserValidator userValidator;
+    private final UserCache userCache;
+    private final UserLookupSingleFlight userLookupSingleFlight;
+    private final UserChangeService userChangeService;
 
     @Override
+    @Timed(value = "user.service", extraTags = {"operation", "create"}, histogram = true)
     @Transactional
-    public boolean createUser(UserDTO userDTO) throws ServiceException {
+    public Long createUser(UserDTO userDTO) throws ServiceException {
         try {
             User user = new User();
             copyUserDtoToUser(user, userDTO);
-            userRepository.save(user);
-            return true;
+            user.setId(null);
+            user.setVersion(null);
+            userValidator.validate(user);
+            Long createdId = userStore.insertIfAbsent(user);
+            if (createdId != null) userChangeService.recordChange(createdId, UserChangeType.CREATED);
+            return createdId;
         } catch (ConstraintViolationException e) {
             throw new ServiceException("ConstraintViolationException");
         } catch (IllegalArgumentException e) {
@@ -45,38 +66,113 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User getUserById(Long id) {
-        return userRepository.findById(id).orElse(null);
+    @Timed(value = "user.service", extraTags = {"operation", "get-by-id"}, histogram = true)
+    public UserView getUserById(Long id) {
+        UserView cachedUser = userCache.getById(id);
+        if (cachedUser != null) return cachedUser;
+
+        long generation = userCache.generation(id);
+        return userLookupSingleFlight.loadById(id, generation, () -> {
+            UserView existingUser = userStore.findViewById(id).orElse(null);
+            if (existingUser != null) userCache.put(existingUser, generation);
+            return existingUser;
+        });
+    }
+
+    @Override
+    @Timed(value = "user.service", extraTags = {"operation", "get-version-by-id"}, histogram = true)
+    public Long getUserVersionById(Long id) {
+        UserView cachedUser = userCache.getById(id);
+        if (cachedUser != null) return cachedUser.version();
+
+        return userStore.findVersionById(id).orElse(null);
+    }
+
+    @Override
+    @Timed(value = "user.service", extraTags = {"operation", "get-by-email"}, histogram = true)
+    public UserView getUserByEmail(String email) {
+        Long cachedId = userCache.getIdByEmail(email);
+        if (cachedId != null) {
+            UserView cachedUser = getUserById(cachedId);
+            if (cachedUser != null && email.equals(cachedUser.email())) return cachedUser;
+            userCache.evictEmail(email);
+        }
+
+        return userLookupSingleFlight.loadByEmail(email, () -> {
+            UserView existingUser = userStore.findViewByEmail(email).orElse(null);
+            if (existingUser != null) userCache.putEmail(email, existingUser.id());
+            return existingUser;
+        });
     }
 
     @Override
-    public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email).orElse(null);
+    @Timed(value = "user.service", extraTags = {"operation", "get-by-name"}, histogram = true)
+    public List<UserView> getUsersByName(String name, Set<UserField> fields, Integer page, Integer size) {
+        if (page < 0) page = 0;
+        if (size <= 0) size = 10;
+        if (size > MAX_LIMIT) size = MAX_LIMIT;
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<UserView> userSlice = userStore.findViewsByName(name, fields, pageable);
+        return userSlice.getContent();
     }
 
     @Override
-    public List<User> getUsersByName(String name, Integer page, Integer size) {
+    @Timed(value = "user.service", extraTags = {"operation", "search"}, histogram = true)
+    public List<UserView> searchUsers(UserSearchDTO userSearchDTO, Set<UserField> fields, Integer page, Integer size) {
         if (page < 0) page = 0;
-        if (size < 0) size = 10;
+        if (size <= 0) size = 10;
+        if (size > MAX_LIMIT) size = MAX_LIMIT;
         Pageable pageable = PageRequest.of(page, size);
-        Page<User> userPage = userRepository.findByName(name, pageable);
-        return userPage.getContent();
+        Slice<UserView> userSlice = userStore.search(toSearchCriteria(userSearchDTO, LocalDate.now()), fields, pageable);
+        return userSlice.getContent();
+    }
+
+    @Override
+    @Timed(value = "user.service", extraTags = {"operation", "list"}, histogram = true)
+    public List<UserView> getUsersAfter(Long after, Set<UserField> fields, Integer limit) {
+        if (after == null || after < 0) after = 0L;
+        if (limit == null || limit <= 0) limit = DEFAULT_LIMIT;
+        if (limit > MAX_LIMIT) limit = MAX_LIMIT;
+        return userStore.findViewsAfter(after, fields, limit);
+    }
+
+    @Override
+    @Timed(value = "user.service", extraTags = {"operation", "stream"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void streamUsers(Set<UserField> fields, Consumer<UserView> consumer) {
+        try (Stream<UserView> users = userStore.streamViews(fields)) {
+            users.forEach(consumer);
+        }
     }
 
     @Override
-    public List<User> getUsers() {
-        return userRepository.findAll();
+    @Timed(value = "user.service", extraTags = {"operation", "facets"}, histogram = true)
+    public Map<String, Map<String, Long>> getFacetCounts() {
+        return userStore.countFacets();
     }
 
     @Override
+    @Timed(value = "user.service", extraTags = {"operation", "update"}, histogram = true)
     @Transactional
     public boolean updateUser(UserDTO userDTO) throws ServiceException {
-        User existingUser = userRepository.findById(userDTO.getId()).orElse(null);
-        if (existingUser == null) return false;
+        if (userDTO.getId() == null) return false;
 
         try {
-            copyUserDtoToUser(existingUser, userDTO);
-            userRepository.save(existingUser);
+            User user = copyUserDtoToUser(new User(), userDTO);
+            userValidator.validate(user);
+
+            int updatedRows = user.getVersion() == null
+                    ? userStore.updateById(user)
+                    : userStore.updateByIdAndVersion(user);
+            if (updatedRows == 0) {
+                if (user.getVersion() != null && userStore.existsById(user.getId())) {
+                    throw new OptimisticLockingFailureException("Version " + user.getVersion() + " is stale");
+                }
+                return false;
+            }
+
+            userCache.evictById(user.getId());
+            userChangeService.recordChange(user.getId(), UserChangeType.UPDATED);
             return true;
         } catch (ConstraintViolationException e) {
             throw new ServiceException("ConstraintViolationException");
@@ -88,19 +184,37 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Timed(value = "user.service", extraTags = {"operation", "delete"}, histogram = true)
     @Transactional
     public boolean deleteUserById(Long id) throws ServiceException {
         try {
-            userRepository.deleteById(id);
+            int deletedRows = userStore.removeById(id);
+            if (deletedRows == 0) return false;
+
+            userCache.evictById(id);
+            userChangeService.recordChange(id, UserChangeType.DELETED);
             return true;
         } catch (IllegalArgumentException e) {
             throw new ServiceException("IllegalArgumentException");
         }
     }
 
-    public static Integer calculateAge(LocalDate birthDate) {
-        if (birthDate == null) return null;
-        return Math.toIntExact(ChronoUnit.YEARS.between(birthDate, LocalDate.now()));
+    public static UserSearchCriteria toSearchCriteria(UserSearchDTO userSearchDTO, LocalDate today) {
+        if (!userSearchDTO.hasValidAgeRange()) throw new IllegalArgumentException("Invalid age range");
+
+        LocalDate bornFrom = userSearchDTO.getMaxAge() == null
+                ? null
+                : today.minusYears(userSearchDTO.getMaxAge() + 1L).plusDays(1);
+        LocalDate bornTo = userSearchDTO.getMinAge() == null
+                ? null
+                : today.minusYears(userSearchDTO.getMinAge());
+        return new UserSearchCriteria(
+                userSearchDTO.getName(),
+                bornFrom,
+                bornTo,
+                userSearchDTO.getRole(),
+                userSearchDTO.getGender()
+        );
     }
 
     public static User copyUserDtoToUser(User user, UserDTO userDTO) {
@@ -109,14 +223,8 @@ public class UserServiceImpl implements UserService {
         user.setEmail(userDTO.getEmail());
         user.setGender(userDTO.getGender());
         user.setBirthDate(userDTO.getBirthDate());
-        user.setAge(calculateAge(userDTO.getBirthDate()));
         user.setRole(userDTO.getRole());
-
-        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
-        Set<ConstraintViolation<User>> violations = validator.validate(user);
-
-        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
-
+        user.setVersion(userDTO.getVersion());
         return user;
     }
 }
@@ -0,0 +1,189 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.repositories.UserBatchRepositoryImpl;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import com.example.user_profile.repositories.UserViewRepositoryImpl;
+import com.example.user_profile.repositories.UserViewRowMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class JdbcUserStore implements UserStore {
+    private static final Set<UserField> ALL_FIELDS = EnumSet.allOf(UserField.class);
+    private static final String SELECT_SQL = "SELECT " + UserField.columns(ALL_FIELDS) + " FROM user";
+    private static final String UPDATE_SQL = "UPDATE user SET name = :name, email = :email, gender = :gender,"
+            + " birth_date = :birthDate, role = :role, version = version + 1 WHERE id = :id";
+    private static final String RESTORE_SQL = "INSERT INTO user"
+            + " (id, name, email, gender, birth_date, role, version) VALUES (?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (id) DO UPDATE SET name = excluded.name, email = excluded.email, gender = excluded.gender,"
+            + " birth_date = excluded.birth_date, role = excluded.role, version = excluded.version";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserViewRepositoryImpl userViewRepository;
+    private final UserBatchRepositoryImpl userBatchRepository;
+
+    public JdbcUserStore(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.userViewRepository = new UserViewRepositoryImpl(jdbcTemplate);
+        this.userBatchRepository = new UserBatchRepositoryImpl(jdbcTemplate);
+    }
+
+    @Override
+    public User save(User user) {
+        Long id = insertIfAbsent(user);
+        if (id == null) throw new DataIntegrityViolationException("Email " + user.getEmail() + " is already taken");
+
+        user.setId(id);
+        user.setVersion(0L);
+        return user;
+    }
+
+    @Override
+    public Long insertIfAbsent(User user) {
+        return userBatchRepository.insertIfAbsent(user);
+    }
+
+    @Override
+    public Optional<UserView> findViewById(Long id) {
+        return findOne(SELECT_SQL + " WHERE id = :id", new MapSqlParameterSource("id", id));
+    }
+
+    @Override
+    public Optional<UserView> findViewByEmail(String email) {
+        return findOne(SELECT_SQL + " WHERE email = :email", new MapSqlParameterSource("email", email));
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM user WHERE id = :id",
+                new MapSqlParameterSource("id", id),
+                Long.class
+        );
+        return versions.stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findVersionById(id).isPresent();
+    }
+
+    @Override
+    public int updateById(User user) {
+        return jdbcTemplate.update(UPDATE_SQL, userParameters(user));
+    }
+
+    @Override
+    public int updateByIdAndVersion(User user) {
+        return jdbcTemplate.update(UPDATE_SQL + " AND version = :version", userParameters(user));
+    }
+
+    @Override
+    public int removeById(Long id) {
+        return jdbcTemplate.update("DELETE FROM user WHERE id = :id", new MapSqlParameterSource("id", id));
+    }
+
+    @Override
+    public Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable) {
+        return userViewRepository.findViewsByName(name, fields, pageable);
+    }
+
+    @Override
+    public Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable) {
+        return userViewRepository.search(criteria, fields, pageable);
+    }
+
+    @Override
+    public List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit) {
+        return userViewRepository.findViewsAfter(id, fields, limit);
+    }
+
+    @Override
+    public Stream<UserView> streamViews(Set<UserField> fields) {
+        return userViewRepository.streamViews(fields);
+    }
+
+    @Override
+    public int[] batchInsert(List<User> users) {
+        return transactionTemplate.execute(status -> userBatchRepository.batchInsert(users));
+    }
+
+    @Override
+    public int[] batchUpsert(List<User> users) {
+        return transactionTemplate.execute(status -> userBatchRepository.batchUpsert(users));
+    }
+
+    @Override
+    public int[] batchUpdate(List<User> users) {
+        return transactionTemplate.execute(status -> userBatchRepository.batchUpdate(users));
+    }
+
+    @Override
+    public int[] batchDelete(List<Long> ids) {
+        return transactionTemplate.execute(status -> userBatchRepository.batchDelete(ids));
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(Collection<String> emails) {
+        return userBatchRepository.findIdsByEmails(emails);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return userBatchRepository.findExistingIds(ids);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countFacets() {
+        return userViewRepository.countFacets();
+    }
+
+    public int[] batchRestore(List<UserView> users) {
+        List<Object[]> batchArgs = users.stream()
+                .map(user -> new Object[]{
+                        user.id(),
+                        user.name(),
+                        user.email(),
+                        user.gender(),
+                        Date.valueOf(user.birthDate()),
+                        user.role(),
+                        user.version()
+                })
+                .toList();
+        return transactionTemplate.execute(status -> jdbcTemplate.getJdbcTemplate().batchUpdate(RESTORE_SQL, batchArgs));
+    }
+
+    private Optional<UserView> findOne(String sql, MapSqlParameterSource parameters) {
+        return jdbcTemplate.query(sql, parameters, new UserViewRowMapper(ALL_FIELDS)).stream().findFirst();
+    }
+
+    private static MapSqlParameterSource userParameters(User user) {
+        return new MapSqlParameterSource()
+                .addValue("id", user.getId())
+                .addValue("name", user.getName())
+                .addValue("email", user.getEmail())
+                .addValue("gender", user.getGender())
+                .addValue("birthDate", Date.valueOf(user.getBirthDate()))
+                .addValue("role", user.getRole())
+                .addValue("version", user.getVersion());
+    }
+}
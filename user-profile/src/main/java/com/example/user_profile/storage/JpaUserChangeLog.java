@@ -0,0 +1,36 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.repositories.UserChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "user.storage.engine", havingValue = "sqlite", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaUserChangeLog implements UserChangeLog {
+    private final UserChangeRepository userChangeRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordChanges(List<Long> userIds, UserChangeType type) {
+        Instant changedAt = Instant.now();
+        List<UserChange> changes = userChangeRepository.saveAll(
+                userIds.stream().map(userId -> new UserChange(userId, type, changedAt)).toList()
+        );
+        return changes.stream().mapToLong(UserChange::getSeq).max().orElse(0L);
+    }
+
+    @Override
+    public List<UserChange> findChangesSince(long since, int limit) {
+        return userChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.repositories.UserRepository;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "user.storage.engine", havingValue = "sqlite", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaUserStore implements UserStore {
+    private final UserRepository userRepository;
+
+    @Override
+    public User save(User user) {
+        return userRepository.save(user);
+    }
+
+    @Override
+    public Long insertIfAbsent(User user) {
+        return userRepository.insertIfAbsent(user);
+    }
+
+    @Override
+    public Optional<UserView> findViewById(Long id) {
+        return userRepository.findViewById(id);
+    }
+
+    @Override
+    public Optional<UserView> findViewByEmail(String email) {
+        return userRepository.findViewByEmail(email);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return userRepository.findVersionById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return userRepository.existsById(id);
+    }
+
+    @Override
+    public int updateById(User user) {
+        return userRepository.updateById(user);
+    }
+
+    @Override
+    public int updateByIdAndVersion(User user) {
+        return userRepository.updateByIdAndVersion(user);
+    }
+
+    @Override
+    public int removeById(Long id) {
+        return userRepository.removeById(id);
+    }
+
+    @Override
+    public Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable) {
+        return userRepository.findViewsByName(name, fields, pageable);
+    }
+
+    @Override
+    public Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable) {
+        return userRepository.search(criteria, fields, pageable);
+    }
+
+    @Override
+    public List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit) {
+        return userRepository.findViewsAfter(id, fields, limit);
+    }
+
+    @Override
+    public Stream<UserView> streamViews(Set<UserField> fields) {
+        return userRepository.streamViews(fields);
+    }
+
+    @Override
+    public int[] batchInsert(List<User> users) {
+        return userRepository.batchInsert(users);
+    }
+
+    @Override
+    public int[] batchUpsert(List<User> users) {
+        return userRepository.batchUpsert(users);
+    }
+
+    @Override
+    public int[] batchUpdate(List<User> users) {
+        return userRepository.batchUpdate(users);
+    }
+
+    @Override
+    public int[] batchDelete(List<Long> ids) {
+        return userRepository.batchDelete(ids);
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(Collection<String> emails) {
+        return userRepository.findIdsByEmails(emails);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return userRepository.findExistingIds(ids);
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countFacets() {
+        return userRepository.countFacets();
+    }
+}
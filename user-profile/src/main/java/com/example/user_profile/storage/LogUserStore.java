@@ -0,0 +1,698 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class LogUserStore implements UserStore, UserChangeLog, Closeable {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte CHECKPOINT = 3;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int SEQ_OFFSET = 1;
+    private static final int CHANGED_AT_OFFSET = SEQ_OFFSET + Long.BYTES;
+    private static final int ID_OFFSET = CHANGED_AT_OFFSET + Long.BYTES;
+    private static final int VERSION_OFFSET = ID_OFFSET + Long.BYTES;
+    private static final int MIN_SEGMENTS_BEFORE_COMPACTION = 4;
+    private static final String SEGMENT_NAME = "users-%06d.log";
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("users-(\\d{6})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnWrite;
+    private final long changeRetention;
+    private volatile NavigableMap<Integer, MappedByteBuffer> segments = new TreeMap<>();
+    private NavigableMap<Long, Long> positionsById = new TreeMap<>();
+    private NavigableMap<Long, Long> positionsBySeq = new TreeMap<>();
+    private final Map<String, Long> idsByEmail = new HashMap<>();
+    private final Map<String, Map<String, Long>> facetCounts = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long nextId = 1;
+    private long nextSeq = 1;
+    private int writeOffset;
+    private int compactedSegments;
+
+    private LogUserStore(Path directory, int segmentSize, boolean forceOnWrite, long changeRetention) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnWrite = forceOnWrite;
+        this.changeRetention = changeRetention;
+    }
+
+    public static LogUserStore open(
+            Path directory,
+            int segmentSize,
+            boolean forceOnWrite,
+            long changeRetention
+    ) throws IOException {
+        Files.createDirectories(directory);
+        LogUserStore store = new LogUserStore(directory, segmentSize, forceOnWrite, changeRetention);
+        store.recover();
+        return store;
+    }
+
+    @Override
+    public User save(User user) {
+        return mutating(() -> {
+            Long id = user.getId() == null ? nextId : user.getId();
+            if (isEmailTakenByOther(user.getEmail(), id)) {
+                throw new DataIntegrityViolationException("Email " + user.getEmail() + " is already taken");
+            }
+
+            Long position = positionsById.get(id);
+            long version = position == null ? 0L : read(position).version() + 1;
+            put(toView(user, id, version));
+            force();
+            user.setId(id);
+            user.setVersion(version);
+            return user;
+        });
+    }
+
+    @Override
+    public Long insertIfAbsent(User user) {
+        return mutating(() -> {
+            if (idsByEmail.containsKey(user.getEmail())) return null;
+
+            Long id = nextId;
+            put(toView(user, id, 0L));
+            force();
+            return id;
+        });
+    }
+
+    @Override
+    public Optional<UserView> findViewById(Long id) {
+        return reading(() -> Optional.ofNullable(positionsById.get(id)).map(this::read));
+    }
+
+    @Override
+    public Optional<UserView> findViewByEmail(String email) {
+        return reading(() -> Optional.ofNullable(idsByEmail.get(email)).map(positionsById::get).map(this::read));
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return findViewById(id).map(UserView::version);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return reading(() -> positionsById.containsKey(id));
+    }
+
+    @Override
+    public int updateById(User user) {
+        return mutating(() -> {
+            int updatedRows = update(user, false);
+            if (updatedRows > 0) force();
+            return updatedRows;
+        });
+    }
+
+    @Override
+    public int updateByIdAndVersion(User user) {
+        return mutating(() -> {
+            int updatedRows = update(user, true);
+            if (updatedRows > 0) force();
+            return updatedRows;
+        });
+    }
+
+    @Override
+    public int removeById(Long id) {
+        return mutating(() -> {
+            int deletedRows = delete(id);
+            if (deletedRows > 0) force();
+            return deletedRows;
+        });
+    }
+
+    @Override
+    public Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable) {
+        return toSlice(scan(user -> user.name().equals(name), Comparator.comparing(UserView::id), fields, pageable), pageable);
+    }
+
+    @Override
+    public Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable) {
+        return toSlice(scan(matches(criteria), criteria.ordering(), fields, pageable), pageable);
+    }
+
+    @Override
+    public List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit) {
+        return reading(() -> positionsById.tailMap(id, false).values().stream()
+                .limit(limit)
+                .map(position -> read(position).select(fields))
+                .toList());
+    }
+
+    @Override
+    public Stream<UserView> streamViews(Set<UserField> fields) {
+        return snapshot().map(user -> user.select(fields));
+    }
+
+    @Override
+    public int[] batchInsert(List<User> users) {
+        return batch(users.size(), i -> {
+            User user = users.get(i);
+            if (idsByEmail.containsKey(user.getEmail())) return 0;
+
+            put(toView(user, nextId, 0L));
+            return 1;
+        });
+    }
+
+    @Override
+    public int[] batchUpsert(List<User> users) {
+        return batch(users.size(), i -> {
+            User user = users.get(i);
+            Long id = idsByEmail.get(user.getEmail());
+            if (id == null) {
+                put(toView(user, nextId, 0L));
+                return 1;
+            }
+
+            UserView currentUser = read(positionsById.get(id));
+            if (toView(user, id, currentUser.version()).equals(currentUser)) return 0;
+
+            put(toView(user, id, currentUser.version() + 1));
+            return 1;
+        });
+    }
+
+    @Override
+    public int[] batchUpdate(List<User> users) {
+        return batch(users.size(), i -> {
+            User user = users.get(i);
+            if (isEmailTakenByOther(user.getEmail(), user.getId())) return 0;
+
+            return update(user, user.getVersion() != null);
+        });
+    }
+
+    @Override
+    public int[] batchDelete(List<Long> ids) {
+        return batch(ids.size(), i -> delete(ids.get(i)));
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(Collection<String> emails) {
+        return reading(() -> {
+            Map<String, Long> ids = new HashMap<>();
+            for (String email : emails) {
+                Long id = idsByEmail.get(email);
+                if (id != null) ids.put(email, id);
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return reading(() -> {
+            Set<Long> existingIds = new HashSet<>();
+            for (Long id : ids) {
+                if (positionsById.containsKey(id)) existingIds.add(id);
+            }
+            return existingIds;
+        });
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countFacets() {
+        return reading(() -> {
+            Map<String, Map<String, Long>> facets = new TreeMap<>();
+            facetCounts.forEach((facet, counts) -> counts.forEach((value, count) -> {
+                if (count > 0) facets.computeIfAbsent(facet, key -> new TreeMap<>()).put(value, count);
+            }));
+            return facets;
+        });
+    }
+
+    @Override
+    public long recordChanges(List<Long> userIds, UserChangeType type) {
+        return reading(() -> nextSeq - 1);
+    }
+
+    @Override
+    public List<UserChange> findChangesSince(long since, int limit) {
+        return reading(() -> positionsBySeq.tailMap(since, false).values().stream()
+                .limit(limit)
+                .map(this::readChange)
+                .toList());
+    }
+
+    public void compact() {
+        writing(() -> {
+            compactSegments();
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        writing(() -> {
+            segments.values().forEach(MappedByteBuffer::force);
+            return null;
+        });
+    }
+
+    private void recover() throws IOException {
+        List<Integer> indexes;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexes = files.map(file -> SEGMENT_PATTERN.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Integer.parseInt(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+
+        NavigableMap<Integer, MappedByteBuffer> recoveredSegments = new TreeMap<>();
+        Map<Long, Long> seqsById = new HashMap<>();
+        for (int index : indexes) {
+            MappedByteBuffer segment = map(index);
+            recoveredSegments.put(index, segment);
+            segments = recoveredSegments;
+            writeOffset = replay(segment, index, seqsById);
+        }
+        if (recoveredSegments.isEmpty()) recoveredSegments.put(0, map(0));
+        segments = recoveredSegments;
+        compactedSegments = segments.size();
+
+        MappedByteBuffer lastSegment = segments.lastEntry().getValue();
+        if (writeOffset + Integer.BYTES <= lastSegment.capacity() && lastSegment.getInt(writeOffset) != 0) {
+            lastSegment.put(writeOffset, new byte[lastSegment.capacity() - writeOffset]);
+            lastSegment.force();
+        }
+    }
+
+    private int replay(MappedByteBuffer segment, int index, Map<Long, Long> seqsById) {
+        int offset = 0;
+        while (offset + HEADER_SIZE <= segment.capacity()) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > segment.capacity()) break;
+
+            ByteBuffer payload = segment.slice(offset + HEADER_SIZE, length);
+            if (checksum(payload) != segment.getInt(offset + Integer.BYTES)) break;
+
+            long position = position(index, offset);
+            if (payload.get(0) == CHECKPOINT) {
+                nextId = Math.max(nextId, payload.getLong(1));
+                nextSeq = Math.max(nextSeq, payload.getLong(1 + Long.BYTES));
+            } else {
+                long seq = payload.getLong(SEQ_OFFSET);
+                long id = payload.getLong(ID_OFFSET);
+                positionsBySeq.putIfAbsent(seq, position);
+                nextSeq = Math.max(nextSeq, seq + 1);
+                if (seq > seqsById.getOrDefault(id, 0L)) {
+                    seqsById.put(id, seq);
+                    if (payload.get(0) == PUT) {
+                        index(decode(payload), position);
+                    } else {
+                        unindex(id);
+                    }
+                }
+            }
+            offset += HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private void compactSegments() {
+        long horizon = nextSeq - 1 - changeRetention;
+        Set<Long> livePositions = new HashSet<>(positionsById.values());
+        NavigableMap<Long, Long> compactedById = new TreeMap<>();
+        NavigableMap<Long, Long> compactedBySeq = new TreeMap<>();
+
+        roll();
+        int firstIndex = segments.lastKey();
+        append(ByteBuffer.allocate(1 + 2 * Long.BYTES).put(CHECKPOINT).putLong(nextId).putLong(nextSeq).flip());
+        for (Map.Entry<Long, Long> change : positionsBySeq.entrySet()) {
+            long position = change.getValue();
+            boolean live = livePositions.contains(position);
+            if (change.getKey() <= horizon && !live) continue;
+
+            ByteBuffer payload = payload(segments, position);
+            long copiedPosition = append(payload);
+            compactedBySeq.put(change.getKey(), copiedPosition);
+            if (live) compactedById.put(payload.getLong(ID_OFFSET), copiedPosition);
+        }
+        segments.tailMap(firstIndex, true).values().forEach(MappedByteBuffer::force);
+
+        positionsById = compactedById;
+        positionsBySeq = compactedBySeq;
+        List<Integer> obsoleteIndexes = List.copyOf(segments.headMap(firstIndex, false).keySet());
+        segments = new TreeMap<>(segments.tailMap(firstIndex, true));
+        compactedSegments = segments.size();
+        for (int index : obsoleteIndexes) {
+            try {
+                Files.deleteIfExists(segmentPath(index));
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Could not delete segment " + segmentPath(index), e);
+            }
+        }
+    }
+
+    private int update(User user, boolean checkVersion) {
+        Long position = positionsById.get(user.getId());
+        if (position == null) return 0;
+
+        UserView currentUser = read(position);
+        if (checkVersion && !currentUser.version().equals(user.getVersion())) return 0;
+        if (isEmailTakenByOther(user.getEmail(), user.getId())) {
+            throw new DataIntegrityViolationException("Email " + user.getEmail() + " is already taken");
+        }
+
+        put(toView(user, user.getId(), currentUser.version() + 1));
+        return 1;
+    }
+
+    private int delete(Long id) {
+        if (!positionsById.containsKey(id)) return 0;
+
+        long seq = nextSeq;
+        ByteBuffer payload = ByteBuffer.allocate(VERSION_OFFSET)
+                .put(DELETE)
+                .putLong(seq)
+                .putLong(System.currentTimeMillis())
+                .putLong(id)
+                .flip();
+        positionsBySeq.put(seq, append(payload));
+        nextSeq++;
+        unindex(id);
+        return 1;
+    }
+
+    private void put(UserView user) {
+        long seq = nextSeq;
+        long position = append(encode(user, seq, System.currentTimeMillis()));
+        positionsBySeq.put(seq, position);
+        nextSeq++;
+        index(user, position);
+    }
+
+    private void index(UserView user, long position) {
+        Long previousPosition = positionsById.put(user.id(), position);
+        if (previousPosition != null) forget(read(previousPosition));
+        idsByEmail.put(user.email(), user.id());
+        adjustFacetCounts(user, 1);
+        nextId = Math.max(nextId, user.id() + 1);
+    }
+
+    private void unindex(Long id) {
+        Long previousPosition = positionsById.remove(id);
+        if (previousPosition != null) forget(read(previousPosition));
+    }
+
+    private void forget(UserView user) {
+        idsByEmail.remove(user.email());
+        adjustFacetCounts(user, -1);
+    }
+
+    private void adjustFacetCounts(UserView user, long delta) {
+        facetCounts.computeIfAbsent(UserField.ROLE.getProperty(), facet -> new TreeMap<>())
+                .merge(user.role(), delta, Long::sum);
+        facetCounts.computeIfAbsent(UserField.GENDER.getProperty(), facet -> new TreeMap<>())
+                .merge(user.gender(), delta, Long::sum);
+    }
+
+    private boolean isEmailTakenByOther(String email, Long id) {
+        Long owner = idsByEmail.get(email);
+        return owner != null && !owner.equals(id);
+    }
+
+    private long append(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (HEADER_SIZE + length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment");
+        }
+
+        if (writeOffset + HEADER_SIZE + length > segments.lastEntry().getValue().capacity()) roll();
+
+        Map.Entry<Integer, MappedByteBuffer> segment = segments.lastEntry();
+        int offset = writeOffset;
+        segment.getValue().put(offset + HEADER_SIZE, payload, 0, length);
+        segment.getValue().putInt(offset + Integer.BYTES, checksum(payload));
+        segment.getValue().putInt(offset, length);
+        writeOffset += HEADER_SIZE + length;
+        return position(segment.getKey(), offset);
+    }
+
+    private void roll() {
+        segments.lastEntry().getValue().force();
+        int index = segments.lastKey() + 1;
+        try {
+            NavigableMap<Integer, MappedByteBuffer> rolledSegments = new TreeMap<>(segments);
+            rolledSegments.put(index, map(index));
+            segments = rolledSegments;
+            writeOffset = 0;
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Could not create segment " + segmentPath(index), e);
+        }
+    }
+
+    private void force() {
+        if (forceOnWrite) segments.lastEntry().getValue().force();
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                segmentPath(index),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            long size = Math.max(channel.size(), segmentSize);
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format(SEGMENT_NAME, index));
+    }
+
+    private UserView read(long position) {
+        return decode(payload(segments, position));
+    }
+
+    private UserChange readChange(long position) {
+        ByteBuffer payload = payload(segments, position);
+        UserChangeType type = payload.get(0) == DELETE
+                ? UserChangeType.DELETED
+                : payload.getLong(VERSION_OFFSET) == 0 ? UserChangeType.CREATED : UserChangeType.UPDATED;
+        UserChange change = new UserChange(
+                payload.getLong(ID_OFFSET),
+                type,
+                Instant.ofEpochMilli(payload.getLong(CHANGED_AT_OFFSET))
+        );
+        change.setSeq(payload.getLong(SEQ_OFFSET));
+        return change;
+    }
+
+    private Stream<UserView> snapshot() {
+        Snapshot snapshot = reading(() -> new Snapshot(
+                segments,
+                positionsById.values().stream().mapToLong(Long::longValue).toArray()
+        ));
+        return Arrays.stream(snapshot.positions()).mapToObj(position -> decode(payload(snapshot.segments(), position)));
+    }
+
+    private List<UserView> scan(
+            Predicate<UserView> filter,
+            Comparator<UserView> order,
+            Set<UserField> fields,
+            Pageable pageable
+    ) {
+        try (Stream<UserView> users = snapshot()) {
+            return users.filter(filter)
+                    .sorted(order)
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize() + 1L)
+                    .map(user -> user.select(fields))
+                    .toList();
+        }
+    }
+
+    private <T> T reading(Supplier<T> action) {
+        return locked(lock.readLock(), action);
+    }
+
+    private <T> T writing(Supplier<T> action) {
+        return locked(lock.writeLock(), action);
+    }
+
+    private <T> T mutating(Supplier<T> action) {
+        return writing(() -> {
+            T result = action.get();
+            if (segments.size() >= Math.max(MIN_SEGMENTS_BEFORE_COMPACTION, 2 * compactedSegments)) compactSegments();
+            return result;
+        });
+    }
+
+    private int[] batch(int size, IntUnaryOperator write) {
+        return mutating(() -> {
+            int[] counts = new int[size];
+            int i = 0;
+            try {
+                for (; i < size; i++) {
+                    counts[i] = write.applyAsInt(i);
+                }
+                force();
+                return counts;
+            } catch (RuntimeException e) {
+                Arrays.fill(counts, i, size, Statement.EXECUTE_FAILED);
+                throw new PartialBatchFailureException(counts, e);
+            }
+        });
+    }
+
+    private static <T> T locked(Lock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    private static ByteBuffer payload(NavigableMap<Integer, MappedByteBuffer> segments, long position) {
+        MappedByteBuffer segment = segments.get((int) (position >>> 32));
+        int offset = (int) position;
+        return segment.slice(offset + HEADER_SIZE, segment.getInt(offset));
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer encode(UserView user, long seq, long changedAt) {
+        byte[][] strings = {bytes(user.name()), bytes(user.email()), bytes(user.gender()), bytes(user.role())};
+        int size = VERSION_OFFSET + 2 * Long.BYTES;
+        for (byte[] string : strings) {
+            size += Integer.BYTES + (string == null ? 0 : string.length);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(size)
+                .put(PUT)
+                .putLong(seq)
+                .putLong(changedAt)
+                .putLong(user.id())
+                .putLong(user.version())
+                .putLong(user.birthDate() == null ? Long.MIN_VALUE : user.birthDate().toEpochDay());
+        for (byte[] string : strings) {
+            if (string == null) {
+                payload.putInt(-1);
+            } else {
+                payload.putInt(string.length).put(string);
+            }
+        }
+        return payload.flip();
+    }
+
+    private static UserView decode(ByteBuffer payload) {
+        payload.position(ID_OFFSET);
+        long id = payload.getLong();
+        long version = payload.getLong();
+        long epochDay = payload.getLong();
+        String name = string(payload);
+        String email = string(payload);
+        String gender = string(payload);
+        String role = string(payload);
+        LocalDate birthDate = epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+        return new UserView(id, name, email, gender, birthDate, role, version);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) return null;
+
+        byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static UserView toView(User user, Long id, Long version) {
+        return new UserView(id, user.getName(), user.getEmail(), user.getGender(), user.getBirthDate(), user.getRole(), version);
+    }
+
+    private static Predicate<UserView> matches(UserSearchCriteria criteria) {
+        Predicate<UserView> predicate = user -> true;
+        if (criteria.namePrefix() != null) {
+            String prefix = criteria.namePrefix();
+            predicate = predicate.and(user -> user.name().regionMatches(true, 0, prefix, 0, prefix.length()));
+        }
+        if (criteria.bornFrom() != null) {
+            predicate = predicate.and(user -> !user.birthDate().isBefore(criteria.bornFrom()));
+        }
+        if (criteria.bornTo() != null) {
+            predicate = predicate.and(user -> !user.birthDate().isAfter(criteria.bornTo()));
+        }
+        if (criteria.role() != null) {
+            predicate = predicate.and(user -> criteria.role().equals(user.role()));
+        }
+        if (criteria.gender() != null) {
+            predicate = predicate.and(user -> criteria.gender().equals(user.gender()));
+        }
+        return predicate;
+    }
+
+    private static Slice<UserView> toSlice(List<UserView> users, Pageable pageable) {
+        boolean hasNext = users.size() > pageable.getPageSize();
+        if (hasNext) users = users.subList(0, pageable.getPageSize());
+        return new SliceImpl<>(users, pageable, hasNext);
+    }
+
+    private record Snapshot(NavigableMap<Integer, MappedByteBuffer> segments, long[] positions) {
+    }
+}
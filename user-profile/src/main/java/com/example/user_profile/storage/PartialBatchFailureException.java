@@ -0,0 +1,33 @@
+package com.example.user_profile.storage;
+
+import org.springframework.dao.DataAccessException;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+public class PartialBatchFailureException extends DataAccessException {
+    private final int[] counts;
+
+    public PartialBatchFailureException(int[] counts, Throwable cause) {
+        super("Batch failed after " + Arrays.stream(counts).filter(count -> count != Statement.EXECUTE_FAILED).count()
+                + " of " + counts.length + " rows were applied", cause);
+        this.counts = counts;
+    }
+
+    public int[] getCounts() {
+        return counts;
+    }
+
+    public static int[] appliedCounts(Supplier<int[]> batch) {
+        try {
+            return batch.get();
+        } catch (PartialBatchFailureException e) {
+            return e.getCounts();
+        }
+    }
+
+    public static boolean isFailed(int count) {
+        return count == Statement.EXECUTE_FAILED;
+    }
+}
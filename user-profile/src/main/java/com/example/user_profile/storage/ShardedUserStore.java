@@ -0,0 +1,532 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ShardedUserStore implements UserStore, UserChangeLog, Closeable {
+    private static final String SHARD_NAME = "users-shard-%d.db";
+    private static final String DIRECTORY_NAME = "users-directory.db";
+    private static final Set<UserField> ALL_FIELDS = EnumSet.allOf(UserField.class);
+    private static final int REBALANCE_CHUNK_SIZE = 500;
+
+    private final List<JdbcUserStore> shards;
+    private final UserDirectory directory;
+    private final List<HikariDataSource> dataSources;
+    private final ExecutorService executor;
+
+    private ShardedUserStore(List<JdbcUserStore> shards, UserDirectory directory, List<HikariDataSource> dataSources) {
+        this.shards = shards;
+        this.directory = directory;
+        this.dataSources = dataSources;
+        this.executor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "user-shard-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ShardedUserStore open(Path path, int shardCount, int poolSize, boolean rebalance) throws IOException {
+        Files.createDirectories(path);
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        HikariDataSource directoryDataSource = createDataSource(path.resolve(DIRECTORY_NAME), poolSize, "db/directory");
+        dataSources.add(directoryDataSource);
+        UserDirectory directory = new UserDirectory(directoryDataSource);
+
+        Integer previousShardCount = directory.findShardCount();
+        if (previousShardCount != null && previousShardCount != shardCount && !rebalance) {
+            directoryDataSource.close();
+            throw new IllegalStateException("Shard count changed from " + previousShardCount + " to " + shardCount
+                    + "; start once with user.storage.sharded.rebalance-on-startup=true");
+        }
+
+        List<JdbcUserStore> shards = new ArrayList<>();
+        for (int index = 0; index < shardCount; index++) {
+            HikariDataSource dataSource = createDataSource(shardPath(path, index), poolSize, "db/migration");
+            dataSources.add(dataSource);
+            shards.add(new JdbcUserStore(dataSource));
+        }
+        ShardedUserStore store = new ShardedUserStore(shards, directory, dataSources);
+
+        if (previousShardCount != null && previousShardCount != shardCount) {
+            for (int index = 0; index < previousShardCount; index++) {
+                store.rebalance(index, path);
+            }
+            for (int index = shardCount; index < previousShardCount; index++) {
+                store.drain(path, index);
+            }
+        }
+        directory.saveShardCount(shardCount);
+        return store;
+    }
+
+    public static int shardIndex(long id, int shardCount) {
+        return Math.floorMod(Long.hashCode(id * 0x9E3779B97F4A7C15L), shardCount);
+    }
+
+    @Override
+    public User save(User user) {
+        Long id = insertIfAbsent(user);
+        if (id == null) throw new DataIntegrityViolationException("Email " + user.getEmail() + " is already taken");
+
+        user.setId(id);
+        user.setVersion(0L);
+        return user;
+    }
+
+    @Override
+    public Long insertIfAbsent(User user) {
+        Long id = directory.reserve(user.getId(), user.getEmail());
+        if (id == null) return null;
+
+        try {
+            Long insertedId = shardFor(id).insertIfAbsent(withId(user, id));
+            if (insertedId == null) directory.release(List.of(id));
+            return insertedId;
+        } catch (RuntimeException e) {
+            directory.release(List.of(id));
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<UserView> findViewById(Long id) {
+        return shardFor(id).findViewById(id);
+    }
+
+    @Override
+    public Optional<UserView> findViewByEmail(String email) {
+        return Optional.ofNullable(directory.findId(email)).flatMap(this::findViewById);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return shardFor(id).findVersionById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return shardFor(id).existsById(id);
+    }
+
+    @Override
+    public int updateById(User user) {
+        return update(user, shardUser -> shardFor(shardUser.getId()).updateById(shardUser));
+    }
+
+    @Override
+    public int updateByIdAndVersion(User user) {
+        return update(user, shardUser -> shardFor(shardUser.getId()).updateByIdAndVersion(shardUser));
+    }
+
+    @Override
+    public int removeById(Long id) {
+        int deletedRows = shardFor(id).removeById(id);
+        if (deletedRows > 0) directory.release(List.of(id));
+        return deletedRows;
+    }
+
+    @Override
+    public Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable) {
+        Pageable window = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize() + 1);
+        Set<UserField> shardFields = withSortKeys(fields);
+        List<UserView> users = gather(
+                shard -> shard.findViewsByName(name, shardFields, window).getContent(),
+                Comparator.comparing(UserView::id)
+        );
+        return toSlice(users, fields, pageable);
+    }
+
+    @Override
+    public Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable) {
+        Pageable window = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize() + 1);
+        Set<UserField> shardFields = withSortKeys(fields);
+        List<UserView> users = gather(
+                shard -> shard.search(criteria, shardFields, window).getContent(),
+                criteria.ordering()
+        );
+        return toSlice(users, fields, pageable);
+    }
+
+    @Override
+    public List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit) {
+        Set<UserField> shardFields = withSortKeys(fields);
+        return gather(shard -> shard.findViewsAfter(id, shardFields, limit), Comparator.comparing(UserView::id))
+                .stream()
+                .limit(limit)
+                .map(user -> user.select(fields))
+                .toList();
+    }
+
+    @Override
+    public Stream<UserView> streamViews(Set<UserField> fields) {
+        Set<UserField> shardFields = withSortKeys(fields);
+        List<Stream<UserView>> streams = shards.stream().map(shard -> shard.streamViews(shardFields)).toList();
+        PriorityQueue<Map.Entry<UserView, Iterator<UserView>>> heads =
+                new PriorityQueue<>(Map.Entry.comparingByKey(Comparator.comparing(UserView::id)));
+        for (Stream<UserView> stream : streams) {
+            Iterator<UserView> iterator = stream.iterator();
+            if (iterator.hasNext()) heads.add(Map.entry(iterator.next(), iterator));
+        }
+
+        Iterator<UserView> merged = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public UserView next() {
+                Map.Entry<UserView, Iterator<UserView>> head = heads.remove();
+                if (head.getValue().hasNext()) heads.add(Map.entry(head.getValue().next(), head.getValue()));
+                return head.getKey();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> streams.forEach(Stream::close))
+                .map(user -> user.select(fields));
+    }
+
+    @Override
+    public int[] batchInsert(List<User> users) {
+        int[] counts = new int[users.size()];
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        Map<Integer, List<User>> usersByShard = new LinkedHashMap<>();
+        Map<Integer, Long> reservedIds = new LinkedHashMap<>();
+        directory.inTransaction(() -> {
+            for (int i = 0; i < users.size(); i++) {
+                Long id = directory.reserve(null, users.get(i).getEmail());
+                if (id == null) continue;
+                reservedIds.put(i, id);
+                route(id, i, withId(users.get(i), id), positionsByShard, usersByShard);
+            }
+            return null;
+        });
+
+        RuntimeException failure = writeShards(usersByShard, positionsByShard, counts, JdbcUserStore::batchInsert);
+        releaseUnwritten(reservedIds, counts);
+        if (failure != null) throw new PartialBatchFailureException(counts, failure);
+        return counts;
+    }
+
+    @Override
+    public int[] batchUpsert(List<User> users) {
+        int[] counts = new int[users.size()];
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        Map<Integer, List<User>> usersByShard = new LinkedHashMap<>();
+        Map<Integer, Long> reservedIds = new LinkedHashMap<>();
+        directory.inTransaction(() -> {
+            for (int i = 0; i < users.size(); i++) {
+                String email = users.get(i).getEmail();
+                Long existingId = directory.findId(email);
+                Long id = existingId != null ? existingId : directory.reserve(null, email);
+                if (id == null) continue;
+                if (existingId == null) reservedIds.put(i, id);
+                route(id, i, withId(users.get(i), existingId != null ? null : id), positionsByShard, usersByShard);
+            }
+            return null;
+        });
+
+        RuntimeException failure = writeShards(usersByShard, positionsByShard, counts, JdbcUserStore::batchUpsert);
+        releaseUnwritten(reservedIds, counts);
+        if (failure != null) throw new PartialBatchFailureException(counts, failure);
+        return counts;
+    }
+
+    @Override
+    public int[] batchUpdate(List<User> users) {
+        int[] counts = new int[users.size()];
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        Map<Integer, List<User>> usersByShard = new LinkedHashMap<>();
+        Map<Long, String> previousEmails = new LinkedHashMap<>();
+        directory.inTransaction(() -> {
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                String currentEmail = directory.findEmail(user.getId());
+                if (currentEmail == null) continue;
+                if (!currentEmail.equals(user.getEmail())) {
+                    if (!directory.move(user.getId(), user.getEmail())) continue;
+                    previousEmails.put(user.getId(), currentEmail);
+                }
+                route(user.getId(), i, user, positionsByShard, usersByShard);
+            }
+            return null;
+        });
+
+        RuntimeException failure = writeShards(usersByShard, positionsByShard, counts, JdbcUserStore::batchUpdate);
+        for (int i = 0; i < users.size(); i++) {
+            String previousEmail = previousEmails.get(users.get(i).getId());
+            if (isUnwritten(counts[i]) && previousEmail != null) directory.move(users.get(i).getId(), previousEmail);
+        }
+        if (failure != null) throw new PartialBatchFailureException(counts, failure);
+        return counts;
+    }
+
+    @Override
+    public int[] batchDelete(List<Long> ids) {
+        int[] counts = new int[ids.size()];
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            route(ids.get(i), i, ids.get(i), positionsByShard, idsByShard);
+        }
+
+        RuntimeException failure = writeShards(idsByShard, positionsByShard, counts, JdbcUserStore::batchDelete);
+        List<Long> deletedIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (counts[i] > 0) deletedIds.add(ids.get(i));
+        }
+        directory.release(deletedIds);
+        if (failure != null) throw new PartialBatchFailureException(counts, failure);
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(Collection<String> emails) {
+        return directory.findIds(emails);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shardIndex(id, shards.size()), index -> new ArrayList<>()).add(id);
+        }
+
+        Set<Long> existingIds = new HashSet<>();
+        idsByShard.forEach((index, shardIds) -> existingIds.addAll(shards.get(index).findExistingIds(shardIds)));
+        return existingIds;
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> countFacets() {
+        Map<String, Map<String, Long>> facets = new TreeMap<>();
+        for (JdbcUserStore shard : shards) {
+            shard.countFacets().forEach((facet, counts) -> counts.forEach((value, count) ->
+                    facets.computeIfAbsent(facet, key -> new TreeMap<>()).merge(value, count, Long::sum)
+            ));
+        }
+        return facets;
+    }
+
+    @Override
+    public long recordChanges(List<Long> userIds, UserChangeType type) {
+        return directory.recordChanges(userIds, type);
+    }
+
+    @Override
+    public List<UserChange> findChangesSince(long since, int limit) {
+        return directory.findChangesSince(since, limit);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    private void rebalance(int sourceIndex, Path path) {
+        JdbcUserStore source = sourceIndex < shards.size()
+                ? shards.get(sourceIndex)
+                : new JdbcUserStore(openDrainingShard(path, sourceIndex));
+        List<UserView> misplacedUsers;
+        try (Stream<UserView> users = source.streamViews(ALL_FIELDS)) {
+            misplacedUsers = users.filter(user -> shardIndex(user.id(), shards.size()) != sourceIndex).toList();
+        }
+
+        for (int from = 0; from < misplacedUsers.size(); from += REBALANCE_CHUNK_SIZE) {
+            List<UserView> chunk = misplacedUsers.subList(from, Math.min(from + REBALANCE_CHUNK_SIZE, misplacedUsers.size()));
+            Map<Integer, List<UserView>> usersByShard = new LinkedHashMap<>();
+            for (UserView user : chunk) {
+                usersByShard.computeIfAbsent(shardIndex(user.id(), shards.size()), index -> new ArrayList<>()).add(user);
+            }
+            usersByShard.forEach((index, shardUsers) -> shards.get(index).batchRestore(shardUsers));
+            source.batchDelete(chunk.stream().map(UserView::id).toList());
+        }
+    }
+
+    private void drain(Path path, int index) throws IOException {
+        dataSources.stream()
+                .filter(dataSource -> dataSource.getPoolName().equals(shardPath(path, index).getFileName().toString()))
+                .forEach(HikariDataSource::close);
+        Files.deleteIfExists(shardPath(path, index));
+        Files.deleteIfExists(Path.of(shardPath(path, index) + "-wal"));
+        Files.deleteIfExists(Path.of(shardPath(path, index) + "-shm"));
+    }
+
+    private HikariDataSource openDrainingShard(Path path, int index) {
+        HikariDataSource dataSource = createDataSource(shardPath(path, index), 1, "db/migration");
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private int update(User user, ToIntFunction<User> shardUpdate) {
+        String currentEmail = directory.findEmail(user.getId());
+        if (currentEmail == null) return 0;
+
+        boolean emailChanged = !currentEmail.equals(user.getEmail());
+        if (emailChanged && !directory.move(user.getId(), user.getEmail())) {
+            throw new DataIntegrityViolationException("Email " + user.getEmail() + " is already taken");
+        }
+
+        int updatedRows = shardUpdate.applyAsInt(user);
+        if (updatedRows == 0 && emailChanged) directory.move(user.getId(), currentEmail);
+        return updatedRows;
+    }
+
+    private JdbcUserStore shardFor(Long id) {
+        return shards.get(shardIndex(id, shards.size()));
+    }
+
+    private <T> void route(
+            Long id,
+            int position,
+            T item,
+            Map<Integer, List<Integer>> positionsByShard,
+            Map<Integer, List<T>> itemsByShard
+    ) {
+        int index = shardIndex(id, shards.size());
+        positionsByShard.computeIfAbsent(index, key -> new ArrayList<>()).add(position);
+        itemsByShard.computeIfAbsent(index, key -> new ArrayList<>()).add(item);
+    }
+
+    private <T> RuntimeException writeShards(
+            Map<Integer, List<T>> itemsByShard,
+            Map<Integer, List<Integer>> positionsByShard,
+            int[] counts,
+            ShardWrite<T> write
+    ) {
+        RuntimeException failure = null;
+        for (Map.Entry<Integer, List<T>> entry : itemsByShard.entrySet()) {
+            List<Integer> positions = positionsByShard.get(entry.getKey());
+            try {
+                int[] shardCounts = write.apply(shards.get(entry.getKey()), entry.getValue());
+                for (int i = 0; i < positions.size(); i++) {
+                    counts[positions.get(i)] = shardCounts[i];
+                }
+            } catch (RuntimeException e) {
+                positions.forEach(position -> counts[position] = Statement.EXECUTE_FAILED);
+                if (failure == null) failure = e;
+            }
+        }
+        return failure;
+    }
+
+    private void releaseUnwritten(Map<Integer, Long> reservedIds, int[] counts) {
+        List<Long> unwrittenIds = new ArrayList<>();
+        reservedIds.forEach((position, id) -> {
+            if (isUnwritten(counts[position])) unwrittenIds.add(id);
+        });
+        directory.release(unwrittenIds);
+    }
+
+    private static boolean isUnwritten(int count) {
+        return count == 0 || PartialBatchFailureException.isFailed(count);
+    }
+
+    private List<UserView> gather(Function<JdbcUserStore, List<UserView>> query, Comparator<UserView> order) {
+        List<CompletableFuture<List<UserView>>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .toList();
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(List::stream)
+                    .sorted(order)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static Set<UserField> withSortKeys(Set<UserField> fields) {
+        Set<UserField> shardFields = EnumSet.of(UserField.ID, UserField.NAME, UserField.BIRTH_DATE);
+        shardFields.addAll(fields);
+        return shardFields;
+    }
+
+    private static Slice<UserView> toSlice(List<UserView> users, Set<UserField> fields, Pageable pageable) {
+        List<UserView> page = users.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .map(user -> user.select(fields))
+                .toList();
+        boolean hasNext = page.size() > pageable.getPageSize();
+        if (hasNext) page = page.subList(0, pageable.getPageSize());
+        return new SliceImpl<>(page, pageable, hasNext);
+    }
+
+    private static User withId(User user, Long id) {
+        User shardUser = new User();
+        shardUser.setId(id);
+        shardUser.setName(user.getName());
+        shardUser.setEmail(user.getEmail());
+        shardUser.setGender(user.getGender());
+        shardUser.setBirthDate(user.getBirthDate());
+        shardUser.setRole(user.getRole());
+        shardUser.setVersion(user.getVersion());
+        return shardUser;
+    }
+
+    private static Path shardPath(Path path, int index) {
+        return path.resolve(String.format(SHARD_NAME, index));
+    }
+
+    private static HikariDataSource createDataSource(Path file, int poolSize, String migrations) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:sqlite:" + file);
+        dataSource.setPoolName(file.getFileName().toString());
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.addDataSourceProperty("journal_mode", "WAL");
+        dataSource.addDataSourceProperty("synchronous", "NORMAL");
+        dataSource.addDataSourceProperty("busy_timeout", "5000");
+        dataSource.addDataSourceProperty("transaction_mode", "IMMEDIATE");
+        Flyway.configure().dataSource(dataSource).locations("classpath:" + migrations).load().migrate();
+        return dataSource;
+    }
+
+    @FunctionalInterface
+    private interface ShardWrite<T> {
+        int[] apply(JdbcUserStore shard, List<T> items);
+    }
+}
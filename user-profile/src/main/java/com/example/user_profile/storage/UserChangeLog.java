@@ -0,0 +1,11 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+
+import java.util.List;
+
+public interface UserChangeLog {
+    long recordChanges(List<Long> userIds, UserChangeType type);
+    List<UserChange> findChangesSince(long since, int limit);
+}
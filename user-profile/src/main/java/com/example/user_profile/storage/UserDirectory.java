@@ -0,0 +1,135 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class UserDirectory {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserDirectory(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public Long reserve(Long id, String email) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "INSERT INTO user_directory (id, email) VALUES (:id, :email) ON CONFLICT DO NOTHING RETURNING id",
+                new MapSqlParameterSource().addValue("id", id).addValue("email", email),
+                Long.class
+        );
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    public Long findId(String email) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM user_directory WHERE email = :email",
+                new MapSqlParameterSource("email", email),
+                Long.class
+        );
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    public String findEmail(Long id) {
+        List<String> emails = jdbcTemplate.queryForList(
+                "SELECT email FROM user_directory WHERE id = :id",
+                new MapSqlParameterSource("id", id),
+                String.class
+        );
+        return emails.isEmpty() ? null : emails.get(0);
+    }
+
+    public Map<String, Long> findIds(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        if (emails.isEmpty()) return ids;
+
+        jdbcTemplate.query(
+                "SELECT id, email FROM user_directory WHERE email IN (:emails)",
+                Map.of("emails", emails),
+                resultSet -> {
+                    ids.put(resultSet.getString("email"), resultSet.getLong("id"));
+                }
+        );
+        return ids;
+    }
+
+    public boolean move(Long id, String email) {
+        return jdbcTemplate.update(
+                "UPDATE OR IGNORE user_directory SET email = :email WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", id).addValue("email", email)
+        ) > 0;
+    }
+
+    public void release(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+
+        jdbcTemplate.update("DELETE FROM user_directory WHERE id IN (:ids)", Map.of("ids", ids));
+    }
+
+    public Integer findShardCount() {
+        List<Integer> shardCounts = jdbcTemplate.queryForList(
+                "SELECT shard_count FROM user_shard_layout WHERE id = 1",
+                Map.of(),
+                Integer.class
+        );
+        return shardCounts.isEmpty() ? null : shardCounts.get(0);
+    }
+
+    public void saveShardCount(int shardCount) {
+        jdbcTemplate.update(
+                "INSERT OR REPLACE INTO user_shard_layout (id, shard_count) VALUES (1, :shardCount)",
+                Map.of("shardCount", shardCount)
+        );
+    }
+
+    public long recordChanges(List<Long> userIds, UserChangeType type) {
+        long changedAt = Instant.now().toEpochMilli();
+        SqlParameterSource[] batchArgs = userIds.stream()
+                .map(userId -> new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("type", type.name())
+                        .addValue("changedAt", changedAt))
+                .toArray(SqlParameterSource[]::new);
+        return inTransaction(() -> {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO user_change (user_id, type, changed_at) VALUES (:userId, :type, :changedAt)",
+                    batchArgs
+            );
+            Long lastSeq = jdbcTemplate.queryForObject("SELECT max(seq) FROM user_change", Map.of(), Long.class);
+            return lastSeq == null ? 0L : lastSeq;
+        });
+    }
+
+    public List<UserChange> findChangesSince(long since, int limit) {
+        return jdbcTemplate.query(
+                "SELECT seq, user_id, type, changed_at FROM user_change WHERE seq > :since ORDER BY seq LIMIT :limit",
+                new MapSqlParameterSource().addValue("since", since).addValue("limit", limit),
+                (resultSet, rowNum) -> {
+                    UserChange change = new UserChange(
+                            resultSet.getLong("user_id"),
+                            UserChangeType.valueOf(resultSet.getString("type")),
+                            Instant.ofEpochMilli(resultSet.getLong("changed_at"))
+                    );
+                    change.setSeq(resultSet.getLong("seq"));
+                    return change;
+                }
+        );
+    }
+
+    public <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface UserStore {
+    User save(User user);
+    Long insertIfAbsent(User user);
+    Optional<UserView> findViewById(Long id);
+    Optional<UserView> findViewByEmail(String email);
+    Optional<Long> findVersionById(Long id);
+    boolean existsById(Long id);
+    int updateById(User user);
+    int updateByIdAndVersion(User user);
+    int removeById(Long id);
+    Slice<UserView> findViewsByName(String name, Set<UserField> fields, Pageable pageable);
+    Slice<UserView> search(UserSearchCriteria criteria, Set<UserField> fields, Pageable pageable);
+    List<UserView> findViewsAfter(Long id, Set<UserField> fields, int limit);
+    Stream<UserView> streamViews(Set<UserField> fields);
+    int[] batchInsert(List<User> users);
+    int[] batchUpsert(List<User> users);
+    int[] batchUpdate(List<User> users);
+    int[] batchDelete(List<Long> ids);
+    Map<String, Long> findIdsByEmails(Collection<String> emails);
+    Set<Long> findExistingIds(Collection<Long> ids);
+    Map<String, Map<String, Long>> countFacets();
+}
@@ -0,0 +1,56 @@
+package com.example.user_profile.validators;
+
+import com.example.user_profile.entities.User;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class UserValidator {
+    private static final Set<String> REQUIRED_PROPERTIES = Set.of("name", "email", "gender", "birthDate", "role");
+
+    private final Validator validator;
+    private final boolean requiredPropertiesOnly;
+
+    public UserValidator(Validator validator) {
+        this.validator = validator;
+        this.requiredPropertiesOnly = hasRequiredPropertiesOnly(validator.getConstraintsForClass(User.class));
+    }
+
+    @Timed(value = "user.validation", histogram = true)
+    public void validate(User user) {
+        if (requiredPropertiesOnly && hasRequiredValues(user)) return;
+
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (!violations.isEmpty()) throw new ConstraintViolationException(violations);
+    }
+
+    private static boolean hasRequiredPropertiesOnly(BeanDescriptor beanDescriptor) {
+        if (!beanDescriptor.getConstraintDescriptors().isEmpty()) return false;
+
+        Set<PropertyDescriptor> properties = beanDescriptor.getConstrainedProperties();
+        Set<String> propertyNames = properties.stream()
+                .map(PropertyDescriptor::getPropertyName)
+                .collect(Collectors.toSet());
+
+        return propertyNames.equals(REQUIRED_PROPERTIES) && properties.stream()
+                .allMatch(property -> !property.isCascaded() && property.getConstraintDescriptors().stream()
+                        .allMatch(constraint -> constraint.getAnnotation() instanceof NotNull));
+    }
+
+    private static boolean hasRequiredValues(User user) {
+        return user.getName() != null
+                && user.getEmail() != null
+                && user.getGender() != null
+                && user.getBirthDate() != null
+                && user.getRole() != null;
+    }
+}
@@ -0,0 +1,25 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+public class V2__Upgrade_legacy_user_table extends BaseJavaMigration {
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            Set<String> columns = new HashSet<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT name FROM pragma_table_info('user')")) {
+                while (resultSet.next()) columns.add(resultSet.getString("name"));
+            }
+
+            if (!columns.contains("version")) statement.execute("ALTER TABLE user ADD COLUMN version bigint default 0");
+            if (columns.contains("age")) statement.execute("ALTER TABLE user DROP COLUMN age");
+        }
+    }
+}
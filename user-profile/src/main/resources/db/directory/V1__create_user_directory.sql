@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS user_directory (
+    id integer primary key autoincrement,
+    email varchar(255) not null unique
+);
+
+CREATE TABLE IF NOT EXISTS user_shard_layout (
+    id integer primary key check (id = 1),
+    shard_count integer not null
+);
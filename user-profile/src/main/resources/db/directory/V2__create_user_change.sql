@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS user_change (
+    seq integer,
+    changed_at bigint not null,
+    type varchar(255) not null check (type in ('CREATED', 'UPDATED', 'DELETED')),
+    user_id bigint not null,
+    primary key (seq)
+);
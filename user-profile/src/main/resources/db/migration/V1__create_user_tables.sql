@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS user (
+    id integer,
+    birth_date date not null,
+    email varchar(255) not null unique,
+    gender varchar(255) not null,
+    name varchar(255) not null,
+    role varchar(255) not null,
+    version bigint default 0,
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_name ON user (name);
+CREATE INDEX IF NOT EXISTS idx_user_birth_date ON user (birth_date);
+CREATE INDEX IF NOT EXISTS idx_user_name_nocase ON user (name COLLATE NOCASE);
+
+CREATE TABLE IF NOT EXISTS user_change (
+    seq integer,
+    changed_at timestamp not null,
+    type varchar(255) not null check (type in ('CREATED', 'UPDATED', 'DELETED')),
+    user_id bigint not null,
+    primary key (seq)
+);
@@ -0,0 +1,41 @@
+CREATE INDEX IF NOT EXISTS idx_user_role_gender ON user (role, gender);
+CREATE INDEX IF NOT EXISTS idx_user_role_birth_date ON user (role, birth_date);
+CREATE INDEX IF NOT EXISTS idx_user_gender_birth_date ON user (gender, birth_date);
+
+CREATE TABLE IF NOT EXISTS user_facet_count (
+    facet varchar(32) not null check (facet in ('role', 'gender')),
+    value varchar(255) not null,
+    count bigint not null default 0,
+    primary key (facet, value)
+);
+
+INSERT OR REPLACE INTO user_facet_count (facet, value, count)
+SELECT 'role', role, COUNT(*) FROM user GROUP BY role;
+
+INSERT OR REPLACE INTO user_facet_count (facet, value, count)
+SELECT 'gender', gender, COUNT(*) FROM user GROUP BY gender;
+
+CREATE TRIGGER IF NOT EXISTS user_facet_count_insert AFTER INSERT ON user
+BEGIN
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('role', NEW.role, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('gender', NEW.gender, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_facet_count_update AFTER UPDATE OF role, gender ON user
+WHEN OLD.role IS NOT NEW.role OR OLD.gender IS NOT NEW.gender
+BEGIN
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'role' AND value = OLD.role;
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'gender' AND value = OLD.gender;
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('role', NEW.role, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('gender', NEW.gender, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_facet_count_delete AFTER DELETE ON user
+BEGIN
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'role' AND value = OLD.role;
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'gender' AND value = OLD.gender;
+END;
@@ -0,0 +1,48 @@
+CREATE TABLE user_autoincrement (
+    id integer primary key autoincrement,
+    birth_date date not null,
+    email varchar(255) not null unique,
+    gender varchar(255) not null,
+    name varchar(255) not null,
+    role varchar(255) not null,
+    version bigint default 0
+);
+
+INSERT INTO user_autoincrement (id, birth_date, email, gender, name, role, version)
+SELECT id, birth_date, email, gender, name, role, version FROM user;
+
+DROP TABLE user;
+
+ALTER TABLE user_autoincrement RENAME TO user;
+
+CREATE INDEX IF NOT EXISTS idx_user_name ON user (name);
+CREATE INDEX IF NOT EXISTS idx_user_birth_date ON user (birth_date);
+CREATE INDEX IF NOT EXISTS idx_user_name_nocase ON user (name COLLATE NOCASE);
+CREATE INDEX IF NOT EXISTS idx_user_role_gender ON user (role, gender);
+CREATE INDEX IF NOT EXISTS idx_user_role_birth_date ON user (role, birth_date);
+CREATE INDEX IF NOT EXISTS idx_user_gender_birth_date ON user (gender, birth_date);
+
+CREATE TRIGGER IF NOT EXISTS user_facet_count_insert AFTER INSERT ON user
+BEGIN
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('role', NEW.role, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('gender', NEW.gender, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_facet_count_update AFTER UPDATE OF role, gender ON user
+WHEN OLD.role IS NOT NEW.role OR OLD.gender IS NOT NEW.gender
+BEGIN
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'role' AND value = OLD.role;
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'gender' AND value = OLD.gender;
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('role', NEW.role, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+    INSERT INTO user_facet_count (facet, value, count) VALUES ('gender', NEW.gender, 1)
+        ON CONFLICT (facet, value) DO UPDATE SET count = count + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_facet_count_delete AFTER DELETE ON user
+BEGIN
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'role' AND value = OLD.role;
+    UPDATE user_facet_count SET count = count - 1 WHERE facet = 'gender' AND value = OLD.gender;
+END;
@@ -0,0 +1,71 @@
+package com.example.user_profile.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+public class AdaptiveConcurrencyLimitTest {
+    private static void runWindow(AdaptiveConcurrencyLimit limit, int concurrency, long rttNanos, boolean dropped) {
+        for (int i = 0; i < concurrency; i++) assertTrue(limit.tryAcquire());
+        for (int i = 0; i < concurrency; i++) limit.release(rttNanos, dropped);
+    }
+
+    @Test
+    public void testRejectsAboveLimitAndShare() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 4, 10, 1.5);
+
+        assertTrue(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire(0.5));
+        assertFalse(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.releaseUnsampled();
+        assertTrue(limit.tryAcquire());
+        assertEquals(4, limit.getInFlight());
+    }
+
+    @Test
+    public void testGrowsWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 10, 1.5);
+
+        for (int i = 0; i < 20; i++) runWindow(limit, limit.getLimit(), 1_000_000, false);
+
+        assertTrue(limit.getLimit() > 10);
+    }
+
+    @Test
+    public void testDoesNotGrowWhenUnderused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 10, 1.5);
+
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 10; j++) runWindow(limit, 1, 1_000_000, false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void testShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 1, 40, 10, 1.5);
+
+        runWindow(limit, 40, 1_000_000, false);
+        for (int i = 0; i < 10; i++) runWindow(limit, limit.getLimit(), 10_000_000, false);
+
+        assertTrue(limit.getLimit() < 40);
+    }
+
+    @Test
+    public void testShrinksOnDrops() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 1, 40, 10, 1.5);
+
+        for (int i = 0; i < 10; i++) runWindow(limit, limit.getLimit(), 1_000_000, true);
+
+        assertTrue(limit.getLimit() < 40);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.user_profile.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+public class AdmissionFilterTest {
+    private static final FilterChain OK = (servletRequest, servletResponse) -> {
+    };
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionController admissionController;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admissionController = new AdmissionController(8, 4, meterRegistry, clock::get);
+        filter = createFilter("X-Client-Id");
+    }
+
+    private AdmissionFilter createFilter(String clientHeader) {
+        ClientRateLimiter clientRateLimiter = new ClientRateLimiter(10, 20, 100, clock::get);
+        return new AdmissionFilter(admissionController, clientRateLimiter, meterRegistry, clientHeader, 1);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, OK);
+        return response;
+    }
+
+    @Test
+    public void testClassifiesRequests() {
+        MockHttpServletRequest byId = new MockHttpServletRequest("GET", "/api/users/user");
+        byId.setParameter("id", "1");
+        MockHttpServletRequest byName = new MockHttpServletRequest("GET", "/api/users/user");
+        byName.setParameter("name", "Firstname");
+        MockHttpServletRequest page = new MockHttpServletRequest("GET", "/api/users");
+        page.setParameter("after", "0");
+
+        assertEquals(RequestClass.POINT_LOOKUP, RequestClass.classify(byId));
+        assertEquals(RequestClass.QUERY, RequestClass.classify(byName));
+        assertEquals(RequestClass.QUERY, RequestClass.classify(page));
+        assertEquals(RequestClass.QUERY, RequestClass.classify(new MockHttpServletRequest("GET", "/api/users/search")));
+        assertEquals(RequestClass.SCAN, RequestClass.classify(new MockHttpServletRequest("GET", "/api/users")));
+        assertEquals(RequestClass.SCAN, RequestClass.classify(new MockHttpServletRequest("POST", "/api/users/bulk/import")));
+        assertEquals(RequestClass.WRITE, RequestClass.classify(new MockHttpServletRequest("PUT", "/api/users")));
+        assertEquals(RequestClass.LONG_POLL, RequestClass.classify(new MockHttpServletRequest("GET", "/api/users/changes")));
+    }
+
+    @Test
+    public void testRateLimitsPerClient() throws Exception {
+        assertEquals(200, perform(request("GET", "/api/users", "scanner")).getStatus());
+
+        MockHttpServletResponse rejected = perform(request("GET", "/api/users", "scanner"));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, perform(request("GET", "/api/users/search", "other")).getStatus());
+        assertEquals(1, meterRegistry.get(AdmissionFilter.REJECTED_METRIC).tag("status", "429").counter().count());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(200, perform(request("GET", "/api/users", "scanner")).getStatus());
+    }
+
+    @Test
+    public void testIgnoresClientHeaderUnlessConfigured() throws Exception {
+        AdmissionFilter remoteAddressFilter = createFilter(null);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        remoteAddressFilter.doFilter(request("GET", "/api/users", "first"), first, OK);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        remoteAddressFilter.doFilter(request("GET", "/api/users", "second"), second, OK);
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+    }
+
+    @Test
+    public void testLongPollsUseTheirOwnFixedBudget() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            MockHttpServletRequest poll = request("GET", "/api/users/changes", "consumer" + i);
+            poll.setAsyncSupported(true);
+            filter.doFilter(poll, new MockHttpServletResponse(), (servletRequest, servletResponse) -> servletRequest.startAsync());
+        }
+
+        assertEquals(503, perform(request("GET", "/api/users/changes", "consumer4")).getStatus());
+        for (int i = 0; i < 4; i++) assertNotNull(admissionController.tryAcquire(RequestClass.QUERY));
+        assertEquals(4, admissionController.getLimit(RequestClass.QUERY));
+    }
+
+    @Test
+    public void testAsyncTimeoutIsNotADrop() throws Exception {
+        assertNotNull(admissionController.tryAcquire(RequestClass.QUERY));
+        MockHttpServletRequest request = request("GET", "/api/users/search", "reader");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> servletRequest.startAsync());
+        for (AsyncListener listener : ((MockAsyncContext) request.getAsyncContext()).getListeners()) {
+            listener.onTimeout(new AsyncEvent(request.getAsyncContext()));
+        }
+        assertEquals(2, meterRegistry.get(AdmissionController.IN_FLIGHT_METRIC).tag("class", "QUERY").gauge().value());
+
+        request.getAsyncContext().complete();
+        assertEquals(1, meterRegistry.get(AdmissionController.IN_FLIGHT_METRIC).tag("class", "QUERY").gauge().value());
+    }
+
+    @Test
+    public void testPointLookupsKeepHeadroomOverScans() throws Exception {
+        AdmissionController.Permit firstScan = admissionController.tryAcquire(RequestClass.SCAN);
+        AdmissionController.Permit secondScan = admissionController.tryAcquire(RequestClass.SCAN);
+
+        assertNotNull(firstScan);
+        assertNotNull(secondScan);
+        assertNull(admissionController.tryAcquire(RequestClass.SCAN));
+
+        MockHttpServletResponse rejected = perform(request("GET", "/api/users", "scanner"));
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        MockHttpServletRequest lookup = request("GET", "/api/users/user", "reader");
+        lookup.setParameter("id", "1");
+        assertEquals(200, perform(lookup).getStatus());
+
+        firstScan.release(false);
+        firstScan.release(false);
+        assertNotNull(admissionController.tryAcquire(RequestClass.SCAN));
+        assertNull(admissionController.tryAcquire(RequestClass.SCAN));
+    }
+
+    @Test
+    public void testHoldsPermitUntilAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/users", "scanner");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> servletRequest.startAsync());
+        assertEquals(1, meterRegistry.get(AdmissionController.IN_FLIGHT_METRIC).tag("class", "SCAN").gauge().value());
+
+        request.getAsyncContext().complete();
+        assertEquals(0, meterRegistry.get(AdmissionController.IN_FLIGHT_METRIC).tag("class", "SCAN").gauge().value());
+    }
+}
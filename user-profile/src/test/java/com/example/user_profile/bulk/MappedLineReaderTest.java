@@ -0,0 +1,57 @@
+package com.example.user_profile.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+public class MappedLineReaderTest {
+    @TempDir
+    private Path directory;
+
+    private List<String> readAll(Path file, long windowSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedLineReader reader = new MappedLineReader(file, windowSize)) {
+            MappedLineReader.Line line;
+            while ((line = reader.next()) != null) {
+                lines.add(line.number() + ":" + StandardCharsets.UTF_8.decode(line.content()));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void testReadsLinesAcrossWindows() throws IOException {
+        Path file = Files.writeString(directory.resolve("users.csv"), "first line\r\nsecond\n\nthird line without newline");
+
+        assertEquals(
+                List.of("1:first line", "2:second", "3:", "4:third line without newline"),
+                readAll(file, 32)
+        );
+        assertEquals(readAll(file, 32), readAll(file, 1024));
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("empty.csv"), "");
+
+        assertEquals(List.of(), readAll(file, 16));
+    }
+
+    @Test
+    public void testLineLongerThanWindow() throws IOException {
+        Path file = Files.writeString(directory.resolve("long.csv"), "short\n" + "x".repeat(64) + "\n");
+
+        assertThrows(IOException.class, () -> readAll(file, 16));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.user_profile.caches;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+public class SingleFlightTest {
+    @Test
+    public void testConcurrentCallsShareOneLoad() throws Exception {
+        Counter collapsedCalls = new SimpleMeterRegistry().counter("collapsed");
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(collapsedCalls);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return "user";
+        }));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        while (collapsedCalls.count() < 1) Thread.onSpinWait();
+        releaseLoader.countDown();
+
+        assertEquals("user", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("user", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, collapsedCalls.count());
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>(new SimpleMeterRegistry().counter("collapsed"));
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("user", singleFlight.execute(1L, () -> "user"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
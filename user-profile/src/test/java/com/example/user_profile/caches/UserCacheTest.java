@@ -0,0 +1,74 @@
+package com.example.user_profile.caches;
+
+import com.example.user_profile.dtos.UserView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+public class UserCacheTest {
+    private UserCache userCache;
+
+    @BeforeEach
+    public void setUp() {
+        userCache = new UserCache(new ConcurrentMapCacheManager(UserCache.USERS_BY_ID, UserCache.USERS_BY_EMAIL));
+    }
+
+    private UserView createUserView(Long version) {
+        return new UserView(1L, "Firstname Lastname", "fullname@test.com", "male", LocalDate.of(2005, 1, 1), "user", version);
+    }
+
+    @Test
+    public void testPutCachesLoadedUser() {
+        UserView user = createUserView(0L);
+
+        userCache.put(user, userCache.generation(1L));
+
+        assertEquals(user, userCache.getById(1L));
+        assertEquals(1L, userCache.getIdByEmail("fullname@test.com"));
+    }
+
+    @Test
+    public void testPutIsSkippedWhenUserWasInvalidatedDuringLoad() {
+        long generation = userCache.generation(1L);
+        UserView staleUser = createUserView(0L);
+
+        userCache.evictById(1L);
+        userCache.put(staleUser, generation);
+
+        assertNull(userCache.getById(1L));
+
+        UserView currentUser = createUserView(1L);
+        userCache.put(currentUser, userCache.generation(1L));
+        assertEquals(currentUser, userCache.getById(1L));
+    }
+
+    @Test
+    public void testEvictionInsideTransactionIsAppliedAfterCommit() {
+        UserView user = createUserView(0L);
+        userCache.put(user, userCache.generation(1L));
+        long generation = userCache.generation(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userCache.evictById(1L);
+            assertEquals(user, userCache.getById(1L));
+            assertEquals(generation, userCache.generation(1L));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(userCache.getById(1L));
+        assertEquals(generation + 1, userCache.generation(1L));
+    }
+}
@@ -1,33 +1,55 @@
 package com.example.user_profile.controllers;
 
 import com.example.user_profile.dtos.UserDTO;
-import com.example.user_profile.entities.User;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserSearchDTO;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.exceptions.ServiceException;
 import com.example.user_profile.services.UserService;
-import com.example.user_profile.services.impl.UserServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
-import java.util.Collections;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
 @WebMvcTest(UserController.class)
 public class UserControllerTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -48,11 +70,19 @@ public class UserControllerTest {
         return userDTO;
     }
 
+    private UserView createUserView(Long userId) {
+        return new UserView(userId, "Firstname Lastname", "fullname@test.com", "male", LocalDate.of(2005, 1, 1), "user", 0L);
+    }
+
+    private static String datedETag(String tag) {
+        return "W/\"" + tag + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "\"";
+    }
+
     @Test
     public void testCreateUser() throws Exception {
         UserDTO userDTO = createUserDTO(null);
 
-        when(userService.createUser(any(UserDTO.class))).thenReturn(true);
+        when(userService.createUser(any(UserDTO.class))).thenReturn(1L);
 
         mockMvc.perform(post("/api/users")
                     .contentType(MediaType.APPLICATION_JSON)
@@ -60,12 +90,20 @@ public class UserControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    public void testCreateUserConflict() throws Exception {
+        when(userService.createUser(any(UserDTO.class))).thenReturn(null);
+
+        mockMvc.perform(post("/api/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createUserDTO(null))))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     public void testGetUserById() throws Exception {
         Long userId = 1L;
-        User user = new User();
-        UserDTO userDTO = createUserDTO(userId);
-        UserServiceImpl.copyUserDtoToUser(user, userDTO);
+        UserView user = createUserView(userId);
 
         when(userService.getUserById(any(Long.class))).thenReturn(user);
 
@@ -75,15 +113,222 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.name").value("Firstname Lastname"));
     }
 
+    @Test
+    public void testGetUserByIdReturnsETag() throws Exception {
+        when(userService.getUserVersionById(1L)).thenReturn(0L);
+        when(userService.getUserById(1L)).thenReturn(createUserView(1L));
+
+        mockMvc.perform(get("/api/users/user?id=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, datedETag("0-7f")))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void testGetUserByIdETagDependsOnFields() throws Exception {
+        when(userService.getUserVersionById(1L)).thenReturn(0L);
+        when(userService.getUserById(1L)).thenReturn(createUserView(1L));
+
+        mockMvc.perform(get("/api/users/user?id=1&fields=id,name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0-3\""));
+
+        mockMvc.perform(get("/api/users/user?id=1&fields=id,name").header(HttpHeaders.IF_NONE_MATCH, datedETag("0-7f")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testGetUserByIdETagExpiresWithTheDateWhenBirthDateIsSelected() throws Exception {
+        when(userService.getUserVersionById(1L)).thenReturn(3L);
+        when(userService.getUserById(1L)).thenReturn(createUserView(1L));
+        String yesterday = LocalDate.now().minusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE);
+
+        mockMvc.perform(get("/api/users/user?id=1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-7f-" + yesterday + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, datedETag("3-7f")));
+    }
+
+    @Test
+    public void testGetUserRejectsEmptyFieldSelection() throws Exception {
+        mockMvc.perform(get("/api/users/user?id=1&fields=,"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getUserById(any(Long.class));
+    }
+
+    @Test
+    public void testGetUserByIdNotModified() throws Exception {
+        when(userService.getUserVersionById(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/users/user?id=1").header(HttpHeaders.IF_NONE_MATCH, datedETag("3-7f")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, datedETag("3-7f")))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+        verify(userService, never()).getUserById(any(Long.class));
+    }
+
+    @Test
+    public void testGetUserByIdWithFields() throws Exception {
+        when(userService.getUserById(any(Long.class))).thenReturn(createUserView(1L));
+
+        mockMvc.perform(get("/api/users/user?id=1&fields=id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Firstname Lastname"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.age").doesNotExist());
+
+        mockMvc.perform(get("/api/users/user?id=1&fields=id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testGetUsers() throws Exception {
-        when(userService.getUsers()).thenReturn(Collections.emptyList());
+        MvcResult result = mockMvc.perform(get("/api/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/api/users"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetUsersAsNdjson() throws Exception {
+        UserView user = createUserView(1L);
+
+        doAnswer(invocation -> {
+            Consumer<UserView> consumer = invocation.getArgument(1);
+            consumer.accept(user);
+            consumer.accept(user);
+            return null;
+        }).when(userService).streamUsers(any(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String expectedLine = objectMapper.writeValueAsString(user) + "\n";
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expectedLine + expectedLine));
+    }
+
+    @Test
+    public void testSearchUsers() throws Exception {
+        UserView user = createUserView(1L);
+
+        UserSearchDTO userSearchDTO = new UserSearchDTO();
+        userSearchDTO.setName("first");
+        when(userService.searchUsers(eq(userSearchDTO), eq(EnumSet.allOf(UserField.class)), eq(0), eq(10)))
+                .thenReturn(List.of(user));
+
+        mockMvc.perform(get("/api/users/search?name=first"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Firstname Lastname"));
+    }
+
+    @Test
+    public void testSearchUsersAsSmile() throws Exception {
+        UserSearchDTO userSearchDTO = new UserSearchDTO();
+        userSearchDTO.setName("first");
+        when(userService.searchUsers(eq(userSearchDTO), eq(EnumSet.allOf(UserField.class)), eq(0), eq(10)))
+                .thenReturn(List.of(createUserView(1L)));
+
+        byte[] body = mockMvc.perform(get("/api/users/search?name=first").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        UserView[] users = smileMapper.readValue(body, UserView[].class);
+        assertEquals("Firstname Lastname", users[0].name());
+    }
+
+    @Test
+    public void testSearchUsersByAgeRange() throws Exception {
+        UserView user = createUserView(1L);
+
+        UserSearchDTO userSearchDTO = new UserSearchDTO();
+        userSearchDTO.setMinAge(18);
+        userSearchDTO.setMaxAge(30);
+        when(userService.searchUsers(eq(userSearchDTO), eq(EnumSet.allOf(UserField.class)), eq(0), eq(10)))
+                .thenReturn(List.of(user));
+
+        mockMvc.perform(get("/api/users/search?minAge=18&maxAge=30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].age").value(user.getAge()));
+    }
+
+    @Test
+    public void testSearchUsersByRoleAndGender() throws Exception {
+        UserView user = createUserView(1L);
+
+        UserSearchDTO userSearchDTO = new UserSearchDTO();
+        userSearchDTO.setRole("user");
+        userSearchDTO.setGender("male");
+        when(userService.searchUsers(eq(userSearchDTO), eq(EnumSet.allOf(UserField.class)), eq(0), eq(10)))
+                .thenReturn(List.of(user));
+
+        mockMvc.perform(get("/api/users/search?role=user&gender=male"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    public void testGetFacetCounts() throws Exception {
+        when(userService.getFacetCounts()).thenReturn(Map.of(
+                "role", Map.of("admin", 1L, "user", 4L),
+                "gender", Map.of("male", 5L)
+        ));
+
+        mockMvc.perform(get("/api/users/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role.user").value(4))
+                .andExpect(jsonPath("$.gender.male").value(5));
+    }
+
+    @Test
+    public void testSearchUsersWithoutFilters() throws Exception {
+        mockMvc.perform(get("/api/users/search"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search?minAge=-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearchUsersRejectsInvalidAgeRange() throws Exception {
+        mockMvc.perform(get("/api/users/search?maxAge=2000000000"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search?minAge=151"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search?minAge=30&maxAge=18"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).searchUsers(any(UserSearchDTO.class), any(), any(), any());
+    }
+
+    @Test
+    public void testGetUsersAfter() throws Exception {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME, UserField.EMAIL);
+        UserView user = createUserView(11L).select(fields);
+
+        when(userService.getUsersAfter(eq(10L), eq(fields), eq(1))).thenReturn(List.of(user));
+
+        mockMvc.perform(get("/api/users?after=10&limit=1&fields=id,name,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(11))
+                .andExpect(jsonPath("$[0].gender").doesNotExist());
+    }
+
     @Test
     public void testUpdateUser() throws Exception {
         UserDTO userDTO = createUserDTO(null);
@@ -96,6 +341,32 @@ public class UserControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testUpdateUserNotFound() throws Exception {
+        UserDTO userDTO = createUserDTO(1L);
+
+        when(userService.updateUser(any(UserDTO.class))).thenReturn(false);
+
+        mockMvc.perform(put("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testUpdateUserConflict() throws Exception {
+        UserDTO userDTO = createUserDTO(1L);
+        userDTO.setVersion(1L);
+
+        when(userService.updateUser(any(UserDTO.class)))
+                .thenThrow(new ServiceException(OptimisticLockingFailureException.class.getSimpleName()));
+
+        mockMvc.perform(put("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     public void testDeleteUser() throws Exception {
         when(userService.deleteUserById(any(Long.class))).thenReturn(true);
@@ -103,4 +374,12 @@ public class UserControllerTest {
         mockMvc.perform(delete("/api/users/user?id=1"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    public void testDeleteUserNotFound() throws Exception {
+        when(userService.deleteUserById(any(Long.class))).thenReturn(false);
+
+        mockMvc.perform(delete("/api/users/user?id=1"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -30,9 +31,13 @@ public class UserIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     public void clearDatabase() {
         jdbcTemplate.execute("DELETE FROM user");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     @Autowired
@@ -95,6 +100,15 @@ public class UserIntegrationTest {
         assertTrue(result.getStatusCode().isSameCodeAs(HttpStatus.CREATED));
     }
 
+    @Test
+    public void testCreateUserWithTakenEmail() {
+        UserDTO userDTO = createUserDTO(null, null);
+        assertTrue(createUser(userDTO).getStatusCode().isSameCodeAs(HttpStatus.CREATED));
+
+        ResponseEntity<Void> result = createUser(createUserDTO(null, "Other Name"));
+        assertTrue(result.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT));
+    }
+
     @Test
     public void testGetUser() {
         UserDTO userDTO = createUserDTO(null, null);
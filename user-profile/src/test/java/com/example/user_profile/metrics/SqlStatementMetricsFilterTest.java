@@ -0,0 +1,40 @@
+package com.example.user_profile.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+public class SqlStatementMetricsFilterTest {
+    @Test
+    public void testRecordsStatementsPerRequest() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/user");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            SqlStatementCounter.increment();
+            SqlStatementCounter.increment();
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/user");
+        });
+
+        DistributionSummary summary = meterRegistry.get(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("uri", "/api/users/user")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    public void testIgnoresStatementsOutsideRequest() {
+        SqlStatementCounter.increment();
+        SqlStatementCounter.start();
+        assertEquals(0, SqlStatementCounter.stop());
+    }
+}
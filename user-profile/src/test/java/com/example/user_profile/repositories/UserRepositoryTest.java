@@ -1,32 +1,42 @@
 package com.example.user_profile.repositories;
 
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
 import com.example.user_profile.entities.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles("test")
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class UserRepositoryTest {
+    private static final Set<UserField> ALL_FIELDS = EnumSet.allOf(UserField.class);
+
     @Autowired
     private UserRepository userRepository;
 
     @BeforeEach
     public void clearDatabase() {
-        userRepository.deleteAll();
+        userRepository.deleteAllInBatch();
     }
 
     private User createUser(Long userId) {
@@ -36,7 +46,6 @@ public class UserRepositoryTest {
         user.setEmail("fullname@test.com");
         user.setGender("male");
         user.setBirthDate(LocalDate.of(2005, 1, 1));
-        user.setAge(20);
         user.setRole("user");
         return user;
     }
@@ -61,9 +70,90 @@ public class UserRepositoryTest {
         }
 
         Pageable pageable = PageRequest.of(0, 3);
-        Page<User> result = userRepository.findByName(username, pageable);
+        Slice<UserView> result = userRepository.findViewsByName(username, ALL_FIELDS, pageable);
         assertEquals(3, result.getContent().size());
-        assertEquals(2, result.getTotalPages());
-        assertEquals(5, result.getTotalElements());
+        assertTrue(result.hasNext());
+
+        Slice<UserView> lastSlice = userRepository.findViewsByName(username, ALL_FIELDS, pageable.next());
+        assertEquals(2, lastSlice.getContent().size());
+        assertFalse(lastSlice.hasNext());
+    }
+
+    @Test
+    public void testSearchByNamePrefix() {
+        String[] names = {"Alice Smith", "alice Jones", "Alicia Keys", "Bob Alice", "Al_ice"};
+        for (int i = 0; i < names.length; i++) {
+            User user = createUser(null);
+            user.setName(names[i]);
+            user.setEmail("user" + i + "@test.com");
+            userRepository.save(user);
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria("ALICE", null, null, null, null);
+        Slice<UserView> result = userRepository.search(criteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(List.of("alice Jones", "Alice Smith"), result.getContent().stream().map(UserView::name).toList());
+        assertFalse(result.hasNext());
+
+        UserSearchCriteria escapedCriteria = new UserSearchCriteria("al_", null, null, null, null);
+        Slice<UserView> escapedResult = userRepository.search(escapedCriteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(List.of("Al_ice"), escapedResult.getContent().stream().map(UserView::name).toList());
+    }
+
+    @Test
+    public void testSearchByBirthDateRange() {
+        int[] birthYears = {1980, 1990, 2000, 2010};
+        for (int i = 0; i < birthYears.length; i++) {
+            User user = createUser(null);
+            user.setEmail("user" + i + "@test.com");
+            user.setBirthDate(LocalDate.of(birthYears[i], 6, 1));
+            userRepository.save(user);
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria(null, LocalDate.of(1985, 1, 1), LocalDate.of(2005, 1, 1), null, null);
+        Slice<UserView> result = userRepository.search(criteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(
+                List.of(LocalDate.of(1990, 6, 1), LocalDate.of(2000, 6, 1)),
+                result.getContent().stream().map(UserView::birthDate).toList()
+        );
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    public void testFindViewsAfterSelectsRequestedFields() {
+        for (int i = 0; i < 3; i++) {
+            User user = createUser(null);
+            user.setEmail("user" + i + "@test.com");
+            userRepository.save(user);
+        }
+        Long firstId = userRepository.findViewsAfter(0L, EnumSet.of(UserField.ID), 1).get(0).id();
+
+        List<UserView> result = userRepository.findViewsAfter(firstId, EnumSet.of(UserField.ID, UserField.EMAIL), 10);
+        assertEquals(List.of("user1@test.com", "user2@test.com"), result.stream().map(UserView::email).toList());
+        assertTrue(result.stream().allMatch(user -> user.name() == null && user.birthDate() == null));
+    }
+
+    @Test
+    public void testFindViewById() {
+        User user = userRepository.save(createUser(null));
+
+        Optional<UserView> result = userRepository.findViewById(user.getId());
+        assertTrue(result.isPresent());
+        assertEquals(user.getEmail(), result.get().email());
+        assertEquals(user.getBirthDate(), result.get().birthDate());
+    }
+
+    @Test
+    public void testBatchInsertIgnoresDuplicateEmails() {
+        User firstUser = createUser(null);
+        User secondUser = createUser(null);
+        secondUser.setEmail("other@test.com");
+        User duplicateUser = createUser(null);
+
+        int[] counts = userRepository.batchInsert(List.of(firstUser, secondUser, duplicateUser));
+
+        assertArrayEquals(new int[]{1, 1, 0}, counts);
+        Map<String, Long> ids = userRepository.findIdsByEmails(List.of(firstUser.getEmail(), secondUser.getEmail()));
+        assertEquals(2, ids.size());
+        assertTrue(userRepository.findById(ids.get(secondUser.getEmail())).isPresent());
     }
 }
@@ -0,0 +1,143 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.UserBatchService;
+import com.example.user_profile.validators.UserValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+public class AsyncUserWriteServiceImplTest {
+    @Mock
+    private UserBatchService userBatchService;
+
+    private AsyncUserWriteServiceImpl asyncUserWriteService;
+
+    @BeforeEach
+    public void setUp() {
+        UserValidator userValidator = new UserValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        asyncUserWriteService = new AsyncUserWriteServiceImpl(
+                userBatchService, userValidator, new SimpleMeterRegistry(), 2, 100, 60000
+        );
+    }
+
+    private UserDTO createUserDTO(Long userId, String name, String email) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(userId);
+        userDTO.setName(name);
+        userDTO.setEmail(email);
+        userDTO.setGender("male");
+        userDTO.setBirthDate(LocalDate.of(2005, 1, 1));
+        userDTO.setRole("user");
+        return userDTO;
+    }
+
+    private static List<UserDTO> toList(Iterator<UserDTO> userDTOs) {
+        List<UserDTO> list = new ArrayList<>();
+        userDTOs.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCoalescesWritesAndFlushesOnStop() throws ServiceException {
+        when(userBatchService.createUsers(any())).thenReturn(List.of());
+        when(userBatchService.updateUsers(any())).thenReturn(List.of());
+        asyncUserWriteService.start();
+
+        assertTrue(asyncUserWriteService.enqueueUpdate(createUserDTO(1L, "First Name", "first@test.com")));
+        assertTrue(asyncUserWriteService.enqueueUpdate(createUserDTO(1L, "Second Name", "first@test.com")));
+        assertTrue(asyncUserWriteService.enqueueCreate(createUserDTO(null, "New User", "new@test.com")));
+        assertFalse(asyncUserWriteService.enqueueCreate(createUserDTO(null, "Other User", "other@test.com")));
+
+        asyncUserWriteService.stop();
+
+        ArgumentCaptor<Iterator<UserDTO>> updateCaptor = ArgumentCaptor.forClass(Iterator.class);
+        verify(userBatchService, times(1)).updateUsers(updateCaptor.capture());
+        List<UserDTO> updates = toList(updateCaptor.getValue());
+        assertEquals(1, updates.size());
+        assertEquals("Second Name", updates.get(0).getName());
+
+        ArgumentCaptor<Iterator<UserDTO>> createCaptor = ArgumentCaptor.forClass(Iterator.class);
+        verify(userBatchService, times(1)).createUsers(createCaptor.capture());
+        assertEquals(List.of("new@test.com"), toList(createCaptor.getValue()).stream().map(UserDTO::getEmail).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDuplicateCreatesAreQueuedSeparately() throws ServiceException {
+        when(userBatchService.createUsers(any())).thenReturn(List.of());
+        asyncUserWriteService.start();
+
+        assertTrue(asyncUserWriteService.enqueueCreate(createUserDTO(null, "First Client", "same@test.com")));
+        assertTrue(asyncUserWriteService.enqueueCreate(createUserDTO(null, "Second Client", "same@test.com")));
+
+        asyncUserWriteService.stop();
+
+        ArgumentCaptor<Iterator<UserDTO>> createCaptor = ArgumentCaptor.forClass(Iterator.class);
+        verify(userBatchService, times(1)).createUsers(createCaptor.capture());
+        assertEquals(
+                List.of("First Client", "Second Client"),
+                toList(createCaptor.getValue()).stream().map(UserDTO::getName).toList()
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testVersionedUpdatesAreQueuedInOrder() throws ServiceException {
+        when(userBatchService.updateUsers(any())).thenReturn(List.of());
+        asyncUserWriteService.start();
+        UserDTO unversionedUpdate = createUserDTO(1L, "First Name", "first@test.com");
+        UserDTO versionedUpdate = createUserDTO(1L, "Second Name", "first@test.com");
+        versionedUpdate.setVersion(0L);
+
+        assertTrue(asyncUserWriteService.enqueueUpdate(unversionedUpdate));
+        assertTrue(asyncUserWriteService.enqueueUpdate(versionedUpdate));
+        assertFalse(asyncUserWriteService.enqueueUpdate(createUserDTO(1L, "Third Name", "first@test.com")));
+
+        asyncUserWriteService.stop();
+
+        ArgumentCaptor<Iterator<UserDTO>> updateCaptor = ArgumentCaptor.forClass(Iterator.class);
+        verify(userBatchService, times(1)).updateUsers(updateCaptor.capture());
+        assertEquals(
+                List.of("First Name", "Second Name"),
+                toList(updateCaptor.getValue()).stream().map(UserDTO::getName).toList()
+        );
+    }
+
+    @Test
+    public void testRejectsInvalidWritesBeforeQueueing() {
+        asyncUserWriteService.start();
+
+        assertThrows(ServiceException.class, () -> asyncUserWriteService.enqueueCreate(new UserDTO()));
+        assertThrows(ServiceException.class, () -> asyncUserWriteService.enqueueUpdate(createUserDTO(null, "Name", "a@test.com")));
+
+        asyncUserWriteService.stop();
+        verify(userBatchService, never()).createUsers(any());
+        verify(userBatchService, never()).updateUsers(any());
+    }
+}
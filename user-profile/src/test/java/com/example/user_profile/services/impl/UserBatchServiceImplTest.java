@@ -0,0 +1,187 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.caches.UserCache;
+import com.example.user_profile.dtos.BatchResultDTO;
+import com.example.user_profile.dtos.BatchStatus;
+import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.services.UserChangeService;
+import com.example.user_profile.storage.PartialBatchFailureException;
+import com.example.user_profile.storage.UserStore;
+import com.example.user_profile.validators.UserValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+public class UserBatchServiceImplTest {
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserChangeService userChangeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserBatchServiceImpl userBatchService;
+
+    @BeforeEach
+    public void setUp() {
+        UserValidator userValidator = new UserValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        userBatchService = new UserBatchServiceImpl(
+                userStore, userValidator, userCache, userChangeService, transactionManager, 2
+        );
+    }
+
+    private UserDTO createUserDTO(Long userId, String email) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(userId);
+        userDTO.setName("Firstname Lastname");
+        userDTO.setEmail(email);
+        userDTO.setGender("male");
+        userDTO.setBirthDate(LocalDate.of(2005, 1, 1));
+        userDTO.setRole("user");
+        return userDTO;
+    }
+
+    @Test
+    public void testCreateUsers() {
+        List<UserDTO> userDTOs = List.of(
+                createUserDTO(null, "first@test.com"),
+                new UserDTO(),
+                createUserDTO(null, "second@test.com")
+        );
+
+        when(userStore.batchInsert(anyList())).thenReturn(new int[]{1}, new int[]{0});
+        when(userStore.findIdsByEmails(List.of("first@test.com"))).thenReturn(Map.of("first@test.com", 7L));
+        when(userStore.findIdsByEmails(List.of("second@test.com"))).thenReturn(Map.of("second@test.com", 3L));
+
+        List<BatchResultDTO> results = userBatchService.createUsers(userDTOs.iterator());
+
+        assertEquals(List.of(
+                new BatchResultDTO(0, 7L, BatchStatus.CREATED),
+                new BatchResultDTO(1, null, BatchStatus.INVALID),
+                new BatchResultDTO(2, null, BatchStatus.CONFLICT)
+        ), results);
+        verify(userStore, times(2)).batchInsert(anyList());
+        verify(userChangeService, times(1)).recordChanges(List.of(7L), UserChangeType.CREATED);
+        verify(userChangeService, times(1)).recordChanges(List.of(), UserChangeType.CREATED);
+    }
+
+    @Test
+    public void testUpsertUsers() {
+        List<UserDTO> userDTOs = List.of(
+                createUserDTO(null, "first@test.com"),
+                createUserDTO(null, "second@test.com"),
+                createUserDTO(null, "first@test.com")
+        );
+
+        when(userStore.findIdsByEmails(List.of("first@test.com", "second@test.com"))).thenReturn(
+                Map.of("first@test.com", 1L),
+                Map.of("first@test.com", 1L, "second@test.com", 2L)
+        );
+        when(userStore.findIdsByEmails(List.of("first@test.com"))).thenReturn(Map.of("first@test.com", 1L));
+        when(userStore.batchUpsert(anyList())).thenReturn(new int[]{1, 1}, new int[]{0});
+
+        List<BatchResultDTO> results = userBatchService.upsertUsers(userDTOs.iterator());
+
+        assertEquals(List.of(
+                new BatchResultDTO(0, 1L, BatchStatus.UPDATED),
+                new BatchResultDTO(1, 2L, BatchStatus.CREATED),
+                new BatchResultDTO(2, 1L, BatchStatus.UNCHANGED)
+        ), results);
+        verify(userCache, times(1)).evictById(1L);
+        verify(userChangeService, times(1)).recordChanges(List.of(2L), UserChangeType.CREATED);
+        verify(userChangeService, times(1)).recordChanges(List.of(1L), UserChangeType.UPDATED);
+    }
+
+    @Test
+    public void testUpdateUsers() {
+        List<UserDTO> userDTOs = List.of(
+                createUserDTO(1L, "first@test.com"),
+                createUserDTO(2L, "second@test.com")
+        );
+
+        when(userStore.batchUpdate(anyList())).thenReturn(new int[]{1, 0});
+        when(userStore.findExistingIds(List.of(2L))).thenReturn(Set.of());
+
+        List<BatchResultDTO> results = userBatchService.updateUsers(userDTOs.iterator());
+
+        assertEquals(List.of(
+                new BatchResultDTO(0, 1L, BatchStatus.UPDATED),
+                new BatchResultDTO(1, 2L, BatchStatus.NOT_FOUND)
+        ), results);
+        verify(userCache, times(1)).evictById(1L);
+        verify(userCache, never()).evictById(2L);
+        verify(userChangeService, times(1)).recordChanges(List.of(1L), UserChangeType.UPDATED);
+    }
+
+    @Test
+    public void testCreateUsersReportsRowsAppliedBeforePartialFailure() {
+        List<UserDTO> userDTOs = List.of(
+                createUserDTO(null, "first@test.com"),
+                createUserDTO(null, "second@test.com")
+        );
+
+        when(userStore.batchInsert(anyList())).thenThrow(
+                new PartialBatchFailureException(new int[]{1, Statement.EXECUTE_FAILED}, new IllegalArgumentException())
+        );
+        when(userStore.findIdsByEmails(List.of("first@test.com", "second@test.com")))
+                .thenReturn(Map.of("first@test.com", 7L));
+
+        List<BatchResultDTO> results = userBatchService.createUsers(userDTOs.iterator());
+
+        assertEquals(List.of(
+                new BatchResultDTO(0, 7L, BatchStatus.CREATED),
+                new BatchResultDTO(1, null, BatchStatus.FAILED)
+        ), results);
+        verify(userChangeService, times(1)).recordChanges(List.of(7L), UserChangeType.CREATED);
+    }
+
+    @Test
+    public void testDeleteUsersByIds() {
+        when(userStore.batchDelete(List.of(1L, 2L))).thenReturn(new int[]{1, 0});
+
+        List<BatchResultDTO> results = userBatchService.deleteUsersByIds(List.of(1L, 2L).iterator());
+
+        assertEquals(List.of(
+                new BatchResultDTO(0, 1L, BatchStatus.DELETED),
+                new BatchResultDTO(1, 2L, BatchStatus.NOT_FOUND)
+        ), results);
+        verify(userCache, times(1)).evictById(1L);
+        verify(userChangeService, times(1)).recordChanges(List.of(1L), UserChangeType.DELETED);
+    }
+
+    @Test
+    public void testRejectsNonPositiveChunkSize() {
+        UserValidator userValidator = new UserValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+        assertThrows(IllegalArgumentException.class, () -> new UserBatchServiceImpl(
+                userStore, userValidator, userCache, userChangeService, transactionManager, 0
+        ));
+    }
+}
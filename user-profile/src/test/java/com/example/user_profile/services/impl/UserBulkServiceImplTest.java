@@ -0,0 +1,176 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.dtos.BulkExportResultDTO;
+import com.example.user_profile.dtos.BulkFormat;
+import com.example.user_profile.dtos.BulkImportResultDTO;
+import com.example.user_profile.dtos.RejectedRowDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.exceptions.ServiceException;
+import com.example.user_profile.services.UserChangeService;
+import com.example.user_profile.storage.UserStore;
+import com.example.user_profile.validators.UserValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+public class UserBulkServiceImplTest {
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private UserChangeService userChangeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private UserBulkServiceImpl userBulkService;
+
+    @BeforeEach
+    public void setUp() {
+        UserValidator userValidator = new UserValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        userBulkService = new UserBulkServiceImpl(
+                userStore,
+                userValidator,
+                userChangeService,
+                Jackson2ObjectMapperBuilder.json().build(),
+                transactionManager,
+                directory.toString(),
+                2,
+                10
+        );
+    }
+
+    @Test
+    public void testImportCsvReportsRejectedRows() throws IOException, ServiceException {
+        Files.writeString(directory.resolve("users.csv"), String.join("\n",
+                "name,email,gender,birthDate,role",
+                "First User,first@test.com,male,2005-01-01,user",
+                "No Email,,male,2005-01-01,user",
+                "Bad Date,bad@test.com,male,2005-13-01,user",
+                "First Again,first@test.com,female,2001-01-01,user",
+                "\"Last, Quoted\",last@test.com,female,1999-12-31,admin",
+                ""
+        ));
+        when(userStore.batchInsert(anyList())).thenReturn(new int[]{1}, new int[]{0}, new int[]{1});
+        when(userStore.findIdsByEmails(anyList())).thenReturn(Map.of("first@test.com", 1L, "last@test.com", 2L));
+
+        BulkImportResultDTO result = userBulkService.importUsers("users.csv", BulkFormat.CSV);
+
+        assertEquals(5, result.getRows());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(
+                new RejectedRowDTO(3, "email must not be null"),
+                new RejectedRowDTO(4, "Invalid birthDate 2005-13-01"),
+                new RejectedRowDTO(5, "Email already exists")
+        ), result.getRejectedRows());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> usersCaptor = ArgumentCaptor.forClass(List.class);
+        verify(userStore, times(3)).batchInsert(usersCaptor.capture());
+        assertEquals("Last, Quoted", usersCaptor.getAllValues().get(2).get(0).getName());
+        verify(userChangeService).recordChanges(List.of(1L), UserChangeType.CREATED);
+        verify(userChangeService).recordChanges(List.of(2L), UserChangeType.CREATED);
+    }
+
+    @Test
+    public void testImportNdjsonRejectsMalformedRows() throws IOException, ServiceException {
+        Files.writeString(directory.resolve("users.ndjson"), String.join("\n",
+                "{\"name\":\"First User\",\"email\":\"first@test.com\",\"gender\":\"male\",\"birthDate\":\"2005-01-01\",\"role\":\"user\"}",
+                "{\"name\":",
+                ""
+        ));
+        when(userStore.batchInsert(anyList())).thenReturn(new int[]{1});
+        when(userStore.findIdsByEmails(List.of("first@test.com"))).thenReturn(Map.of("first@test.com", 1L));
+
+        BulkImportResultDTO result = userBulkService.importUsers("users.ndjson", BulkFormat.NDJSON);
+
+        assertEquals(2, result.getRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejectedRows().get(0).getLine());
+    }
+
+    @Test
+    public void testImportRejectsPathsOutsideDirectory() {
+        ServiceException thrown = assertThrows(ServiceException.class, () -> {
+            userBulkService.importUsers("../users.csv", BulkFormat.CSV);
+        });
+
+        assertEquals(IllegalArgumentException.class.getSimpleName(), thrown.getMessage());
+    }
+
+    @Test
+    public void testImportMissingFile() {
+        ServiceException thrown = assertThrows(ServiceException.class, () -> {
+            userBulkService.importUsers("missing.csv", BulkFormat.CSV);
+        });
+
+        assertEquals("NoSuchFileException", thrown.getMessage());
+    }
+
+    @Test
+    public void testExportCsvStreamsSelectedFields() throws IOException, ServiceException {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME, UserField.EMAIL);
+        when(userStore.streamViews(fields)).thenReturn(Stream.of(
+                new UserView(1L, "First User", "first@test.com", null, null, null, null),
+                new UserView(2L, "Last, Quoted", "last@test.com", null, null, null, null)
+        ));
+
+        BulkExportResultDTO result = userBulkService.exportUsers("exports/users.csv", BulkFormat.CSV, fields);
+
+        Path file = directory.resolve("exports/users.csv");
+        assertEquals(2, result.getRows());
+        assertEquals(Files.size(file), result.getBytes());
+        assertEquals(
+                List.of("id,name,email", "1,First User,first@test.com", "2,\"Last, Quoted\",last@test.com"),
+                Files.readAllLines(file)
+        );
+    }
+
+    @Test
+    public void testExportNdjsonRoundTripsThroughImport() throws IOException, ServiceException {
+        Set<UserField> fields = EnumSet.allOf(UserField.class);
+        when(userStore.streamViews(fields)).thenReturn(Stream.of(
+                new UserView(1L, "First User", "first@test.com", "male", LocalDate.of(2005, 1, 1), "user", 0L)
+        ));
+        when(userStore.batchInsert(anyList())).thenReturn(new int[]{1});
+
+        userBulkService.exportUsers("users.ndjson", BulkFormat.NDJSON, fields);
+        BulkImportResultDTO result = userBulkService.importUsers("users.ndjson", BulkFormat.NDJSON);
+
+        assertEquals(1, result.getImported());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.user_profile.services.impl;
+
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import com.example.user_profile.events.UserChangesCommittedEvent;
+import com.example.user_profile.storage.UserChangeLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+public class UserChangeServiceImplTest {
+    @Mock
+    private UserChangeLog userChangeLog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserChangeServiceImpl userChangeService;
+
+    private UserChange createChange(Long seq, Long userId) {
+        UserChange change = new UserChange(userId, UserChangeType.UPDATED, Instant.now());
+        change.setSeq(seq);
+        return change;
+    }
+
+    @Test
+    public void testRecordChangePublishesEvent() {
+        when(userChangeLog.recordChanges(List.of(7L), UserChangeType.UPDATED)).thenReturn(1L);
+
+        userChangeService.recordChange(7L, UserChangeType.UPDATED);
+
+        verify(eventPublisher, times(1)).publishEvent(new UserChangesCommittedEvent(1L));
+    }
+
+    @Test
+    public void testRecordNoChangesSkipsLog() {
+        userChangeService.recordChanges(List.of(), UserChangeType.CREATED);
+
+        verify(userChangeLog, never()).recordChanges(anyList(), any(UserChangeType.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testAwaitReturnsExistingChangesImmediately() {
+        UserChange change = createChange(6L, 7L);
+        when(userChangeLog.findChangesSince(5L, 100)).thenReturn(List.of(change));
+
+        DeferredResult<List<UserChange>> result = userChangeService.awaitChangesSince(5L, null, null);
+
+        assertTrue(result.hasResult());
+        assertEquals(List.of(change), result.getResult());
+    }
+
+    @Test
+    public void testAwaitIsCompletedByCommittedChanges() {
+        UserChange change = createChange(6L, 2L);
+        when(userChangeLog.findChangesSince(5L, 10)).thenReturn(List.of(), List.of(change));
+
+        DeferredResult<List<UserChange>> result = userChangeService.awaitChangesSince(5L, 10, 1000L);
+        assertFalse(result.hasResult());
+
+        userChangeService.onChangesCommitted(new UserChangesCommittedEvent(5L));
+        assertFalse(result.hasResult());
+
+        userChangeService.onChangesCommitted(new UserChangesCommittedEvent(6L));
+        assertEquals(List.of(change), result.getResult());
+    }
+
+    @Test
+    public void testAwaitRequeriesWhenCommitsAreSeenOutOfOrder() {
+        UserChange sixth = createChange(6L, 2L);
+        UserChange seventh = createChange(7L, 3L);
+        when(userChangeLog.findChangesSince(5L, 10)).thenReturn(List.of(), List.of(sixth, seventh));
+
+        DeferredResult<List<UserChange>> result = userChangeService.awaitChangesSince(5L, 10, 1000L);
+
+        userChangeService.onChangesCommitted(new UserChangesCommittedEvent(7L));
+        userChangeService.onChangesCommitted(new UserChangesCommittedEvent(6L));
+
+        assertEquals(List.of(sixth, seventh), result.getResult());
+        verify(userChangeLog, times(2)).findChangesSince(5L, 10);
+    }
+
+    @Test
+    public void testChangesSinceClampsLimit() {
+        when(userChangeLog.findChangesSince(0L, 1000)).thenReturn(List.of());
+
+        userChangeService.getChangesSince(-1L, 5000);
+
+        verify(userChangeLog, times(1)).findChangesSince(0L, 1000);
+    }
+}
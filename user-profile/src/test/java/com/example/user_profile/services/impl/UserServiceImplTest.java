@@ -1,28 +1,50 @@
 package com.example.user_profile.services.impl;
 
+import com.example.user_profile.caches.UserCache;
+import com.example.user_profile.caches.UserLookupSingleFlight;
 import com.example.user_profile.dtos.UserDTO;
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserSearchDTO;
+import com.example.user_profile.dtos.UserView;
 import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChangeType;
 import com.example.user_profile.exceptions.ServiceException;
-import com.example.user_profile.repositories.UserRepository;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import com.example.user_profile.services.UserChangeService;
+import com.example.user_profile.storage.UserStore;
+import com.example.user_profile.validators.UserValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,7 +53,19 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceImplTest {
     @Mock
-    private UserRepository userRepository;
+    private UserStore userStore;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserChangeService userChangeService;
+
+    @Spy
+    private UserLookupSingleFlight userLookupSingleFlight = new UserLookupSingleFlight(new SimpleMeterRegistry());
+
+    @Spy
+    private UserValidator userValidator = new UserValidator(Validation.buildDefaultValidatorFactory().getValidator());
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -47,6 +81,10 @@ public class UserServiceImplTest {
         return userDTO;
     }
 
+    private UserView createUserView(Long userId) {
+        return new UserView(userId, "Firstname Lastname", "fullname@test.com", "male", LocalDate.of(2005, 1, 1), "user", 0L);
+    }
+
     @Test
     public void testConstraintViolation() {
         UserDTO userDTO = new UserDTO();
@@ -61,7 +99,7 @@ public class UserServiceImplTest {
     public void testIllegalArgument() {
         UserDTO userDTO = createUserDTO(null);
 
-        when(userRepository.save(any(User.class)))
+        when(userStore.insertIfAbsent(any(User.class)))
                 .thenThrow(new IllegalArgumentException("Illegal argument"));
 
         ServiceException thrown = assertThrows(ServiceException.class, () -> {
@@ -75,7 +113,7 @@ public class UserServiceImplTest {
     public void testOptimisticLockingFailure() {
         UserDTO userDTO = createUserDTO(null);
 
-        when(userRepository.save(any(User.class)))
+        when(userStore.insertIfAbsent(any(User.class)))
                 .thenThrow(new OptimisticLockingFailureException("Optimistic locking failure"));
 
         ServiceException thrown = assertThrows(ServiceException.class, () -> {
@@ -91,63 +129,93 @@ public class UserServiceImplTest {
         UserDTO userDTO = createUserDTO(null);
 
         UserServiceImpl.copyUserDtoToUser(user, userDTO);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userStore.insertIfAbsent(any(User.class))).thenReturn(1L);
 
-        boolean result = userService.createUser(userDTO);
+        Long result = userService.createUser(userDTO);
 
-        assertTrue(result);
-        verify(userRepository, times(1)).save(user);
+        assertEquals(1L, result);
+        verify(userStore, times(1)).insertIfAbsent(user);
+        verify(userChangeService, times(1)).recordChange(1L, UserChangeType.CREATED);
+    }
+
+    @Test
+    public void testCreateUserWithTakenEmail() throws ServiceException {
+        when(userStore.insertIfAbsent(any(User.class))).thenReturn(null);
+
+        Long result = userService.createUser(createUserDTO(null));
+
+        assertNull(result);
+        verify(userChangeService, never()).recordChange(any(), any());
     }
 
     @Test
     public void testUpdateUser() throws ServiceException {
         Long userId = 1L;
-        User user = new User();
         UserDTO userDTO = createUserDTO(userId);
-
-        UserServiceImpl.copyUserDtoToUser(user, userDTO);
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
-
         userDTO.setName("Updated Name");
-        UserServiceImpl.copyUserDtoToUser(user, userDTO);
 
-        when(userRepository.save(any(User.class))).thenReturn(user);
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
+        when(userStore.updateById(any(User.class))).thenReturn(1);
 
         boolean result = userService.updateUser(userDTO);
-        User existingUser = userService.getUserById(userId);
 
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         assertTrue(result);
-        assertEquals(userDTO.getName(), existingUser.getName());
-        verify(userRepository, times(1)).save(user);
-        verify(userRepository, times(2)).findById(userId);
+        verify(userStore, times(1)).updateById(userCaptor.capture());
+        assertEquals(userDTO.getName(), userCaptor.getValue().getName());
+        verify(userStore, never()).findViewById(any(Long.class));
+        verify(userCache, times(1)).evictById(userId);
+    }
+
+    @Test
+    public void testUpdateUserNotFound() throws ServiceException {
+        UserDTO userDTO = createUserDTO(1L);
+
+        when(userStore.updateById(any(User.class))).thenReturn(0);
+
+        boolean result = userService.updateUser(userDTO);
+
+        assertFalse(result);
+        verify(userCache, never()).evictById(any(Long.class));
+    }
+
+    @Test
+    public void testUpdateUserWithStaleVersion() {
+        UserDTO userDTO = createUserDTO(1L);
+        userDTO.setVersion(3L);
+
+        when(userStore.updateByIdAndVersion(any(User.class))).thenReturn(0);
+        when(userStore.existsById(1L)).thenReturn(true);
+
+        ServiceException thrown = assertThrows(ServiceException.class, () -> {
+            userService.updateUser(userDTO);
+        });
+
+        assertEquals(thrown.getMessage(), OptimisticLockingFailureException.class.getSimpleName());
     }
 
     @Test
     public void testGetUserById() {
         Long userId = 1L;
-        User user = new User();
-        UserDTO userDTO = createUserDTO(userId);
+        UserView user = createUserView(userId);
 
-        UserServiceImpl.copyUserDtoToUser(user, userDTO);
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
+        when(userStore.findViewById(any(Long.class))).thenReturn(Optional.of(user));
 
-        User result = userService.getUserById(userId);
+        UserView result = userService.getUserById(userId);
 
         assertNotNull(result);
-        verify(userRepository, times(1)).findById(userId);
+        verify(userStore, times(1)).findViewById(userId);
     }
 
     @Test
     public void testUserNotFound() {
         Long userId = 1L;
 
-        when(userRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(userStore.findViewById(any(Long.class))).thenReturn(Optional.empty());
 
-        User result = userService.getUserById(userId);
+        UserView result = userService.getUserById(userId);
 
         assertNull(result);
-        verify(userRepository, times(1)).findById(userId);
+        verify(userStore, times(1)).findViewById(userId);
     }
 
     @Test
@@ -157,7 +225,140 @@ public class UserServiceImplTest {
         UserDTO userDTO = createUserDTO(userId);
 
         UserServiceImpl.copyUserDtoToUser(user, userDTO);
-        assertDoesNotThrow(() -> userRepository.deleteById(userId));
-        verify(userRepository, times(1)).deleteById(userId);
+        assertDoesNotThrow(() -> userStore.removeById(userId));
+        verify(userStore, times(1)).removeById(userId);
+    }
+
+    @Test
+    public void testDeleteUserByIdUsesSingleStatement() throws ServiceException {
+        when(userStore.removeById(1L)).thenReturn(1);
+        when(userStore.removeById(2L)).thenReturn(0);
+
+        assertTrue(userService.deleteUserById(1L));
+        assertFalse(userService.deleteUserById(2L));
+        verify(userStore, never()).findViewById(any(Long.class));
+        verify(userCache, times(1)).evictById(1L);
+        verify(userCache, never()).evictById(2L);
+        verify(userChangeService, times(1)).recordChange(1L, UserChangeType.DELETED);
+        verify(userChangeService, never()).recordChange(2L, UserChangeType.DELETED);
+    }
+
+    @Test
+    public void testGetUsersAfterClampsLimit() {
+        Set<UserField> fields = EnumSet.allOf(UserField.class);
+        when(userStore.findViewsAfter(eq(0L), eq(fields), any(Integer.class))).thenReturn(List.of());
+
+        userService.getUsersAfter(null, fields, 5000);
+
+        ArgumentCaptor<Integer> limitCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(userStore, times(1)).findViewsAfter(eq(0L), eq(fields), limitCaptor.capture());
+        assertEquals(1000, limitCaptor.getValue());
+    }
+
+    @Test
+    public void testAgeRangeTranslatesToBirthDateRange() {
+        UserSearchDTO userSearchDTO = new UserSearchDTO();
+        userSearchDTO.setMinAge(18);
+        userSearchDTO.setMaxAge(30);
+
+        UserSearchCriteria criteria = UserServiceImpl.toSearchCriteria(userSearchDTO, LocalDate.of(2025, 6, 15));
+
+        assertNull(criteria.namePrefix());
+        assertEquals(LocalDate.of(1994, 6, 16), criteria.bornFrom());
+        assertEquals(LocalDate.of(2007, 6, 15), criteria.bornTo());
+    }
+
+    @Test
+    public void testInvalidAgeRangeIsRejected() {
+        UserSearchDTO outOfRange = new UserSearchDTO();
+        outOfRange.setMaxAge(2000000000);
+        UserSearchDTO inverted = new UserSearchDTO();
+        inverted.setMinAge(30);
+        inverted.setMaxAge(18);
+
+        assertThrows(IllegalArgumentException.class, () -> UserServiceImpl.toSearchCriteria(outOfRange, LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> UserServiceImpl.toSearchCriteria(inverted, LocalDate.now()));
+    }
+
+    @Test
+    public void testStreamUsersPassesRequestedFields() {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME);
+        UserView firstUser = createUserView(1L).select(fields);
+        UserView secondUser = createUserView(2L).select(fields);
+
+        when(userStore.streamViews(fields)).thenReturn(Stream.of(firstUser, secondUser));
+
+        List<UserView> streamedUsers = new ArrayList<>();
+        userService.streamUsers(fields, streamedUsers::add);
+
+        assertEquals(List.of(firstUser, secondUser), streamedUsers);
+    }
+
+    @Test
+    public void testGetUserByIdFromCache() {
+        Long userId = 1L;
+        UserView user = createUserView(userId);
+
+        when(userCache.getById(userId)).thenReturn(user);
+
+        UserView result = userService.getUserById(userId);
+
+        assertEquals(user, result);
+        verify(userStore, never()).findViewById(any(Long.class));
+    }
+
+    @Test
+    public void testGetUserVersionByIdPrefersCache() {
+        when(userCache.getById(1L)).thenReturn(createUserView(1L));
+        when(userStore.findVersionById(2L)).thenReturn(Optional.of(5L));
+
+        assertEquals(0L, userService.getUserVersionById(1L));
+        assertEquals(5L, userService.getUserVersionById(2L));
+        verify(userStore, never()).findVersionById(1L);
+        verify(userStore, never()).findViewById(any(Long.class));
+    }
+
+    @Test
+    public void testGetUserByEmailCachesLoadedUser() {
+        UserView user = createUserView(1L);
+
+        when(userStore.findViewByEmail(user.email())).thenReturn(Optional.of(user));
+
+        UserView result = userService.getUserByEmail(user.email());
+
+        assertEquals(user, result);
+        verify(userCache, times(1)).putEmail(user.email(), 1L);
+        verify(userCache, never()).put(any(UserView.class), anyLong());
+    }
+
+    @Test
+    public void testGetUserByIdCachesWithGenerationReadBeforeLoad() {
+        UserView user = createUserView(1L);
+
+        when(userCache.generation(1L)).thenReturn(4L);
+        when(userStore.findViewById(1L)).thenReturn(Optional.of(user));
+
+        UserView result = userService.getUserById(1L);
+
+        assertEquals(user, result);
+        verify(userLookupSingleFlight, times(1)).loadById(eq(1L), eq(4L), any());
+        verify(userCache, times(1)).put(user, 4L);
+    }
+
+    @Test
+    public void testGetUserByEmailIgnoresStaleCachedId() {
+        UserView user = createUserView(2L);
+        UserView renamedUser = new UserView(
+                1L, user.name(), "renamed@test.com", user.gender(), user.birthDate(), user.role(), user.version()
+        );
+
+        when(userCache.getIdByEmail(user.email())).thenReturn(1L);
+        when(userCache.getById(1L)).thenReturn(renamedUser);
+        when(userStore.findViewByEmail(user.email())).thenReturn(Optional.of(user));
+
+        UserView result = userService.getUserByEmail(user.email());
+
+        assertEquals(user, result);
+        verify(userCache, times(1)).evictEmail(user.email());
     }
 }
@@ -0,0 +1,43 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaUserStore.class)
+public class JpaUserStoreTest extends UserStoreContractTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JpaUserStore jpaUserStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void clearDatabase() {
+        userRepository.deleteAll();
+    }
+
+    @Override
+    protected UserStore userStore() {
+        return jpaUserStore;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
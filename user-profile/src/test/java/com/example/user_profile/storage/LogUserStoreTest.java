@@ -0,0 +1,188 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+public class LogUserStoreTest extends UserStoreContractTest {
+    private static final int SEGMENT_SIZE = 4096;
+    private static final long CHANGE_RETENTION = 100000;
+
+    @TempDir
+    private Path directory;
+
+    private LogUserStore logUserStore;
+
+    @BeforeEach
+    public void openStore() throws IOException {
+        logUserStore = LogUserStore.open(directory, SEGMENT_SIZE, false, CHANGE_RETENTION);
+    }
+
+    @AfterEach
+    public void closeStore() {
+        logUserStore.close();
+    }
+
+    @Override
+    protected UserStore userStore() {
+        return logUserStore;
+    }
+
+    @Test
+    public void testIndexIsRebuiltOnReopen() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(logUserStore.save(createUser("user" + i + "@test.com")).getId());
+        }
+        User update = createUser("renamed@test.com");
+        update.setId(ids.get(1));
+        logUserStore.updateById(update);
+        logUserStore.removeById(ids.get(2));
+        logUserStore.close();
+
+        logUserStore = LogUserStore.open(directory, SEGMENT_SIZE, false, CHANGE_RETENTION);
+
+        assertTrue(Files.exists(directory.resolve("users-000001.log")));
+        assertEquals(Optional.of(1L), logUserStore.findVersionById(ids.get(1)));
+        assertTrue(logUserStore.findViewByEmail("user1@test.com").isEmpty());
+        assertEquals(ids.get(1), logUserStore.findViewByEmail("renamed@test.com").map(UserView::id).orElse(null));
+        assertTrue(logUserStore.findViewById(ids.get(2)).isEmpty());
+        assertEquals(ids.get(99) + 1, logUserStore.save(createUser("next@test.com")).getId());
+    }
+
+    @Test
+    public void testTornRecordIsDiscardedOnReopen() throws IOException {
+        Long id = logUserStore.save(createUser("first@test.com")).getId();
+        Long tornId = logUserStore.save(createUser("second@test.com")).getId();
+        logUserStore.close();
+
+        Path segment = directory.resolve("users-000000.log");
+        byte[] bytes = Files.readAllBytes(segment);
+        int secondPayload = 2 * Integer.BYTES + ByteBuffer.wrap(bytes).getInt(0) + 2 * Integer.BYTES;
+        bytes[secondPayload + 1] ^= 1;
+        Files.write(segment, bytes);
+
+        logUserStore = LogUserStore.open(directory, SEGMENT_SIZE, false, CHANGE_RETENTION);
+
+        assertTrue(logUserStore.existsById(id));
+        assertTrue(logUserStore.findViewById(tornId).isEmpty());
+        assertEquals(tornId, logUserStore.save(createUser("second@test.com")).getId());
+    }
+
+    @Test
+    public void testSaveRejectsDuplicateEmail() {
+        logUserStore.save(createUser("fullname@test.com"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> logUserStore.save(createUser("fullname@test.com")));
+    }
+
+    @Test
+    public void testChangeFeedIsReadFromTheLog() throws IOException {
+        Long id = logUserStore.save(createUser("fullname@test.com")).getId();
+        User update = createUser("renamed@test.com");
+        update.setId(id);
+        logUserStore.updateById(update);
+        logUserStore.removeById(id);
+
+        assertEquals(3L, logUserStore.recordChanges(List.of(id), UserChangeType.DELETED));
+        assertChanges(List.of(UserChangeType.CREATED, UserChangeType.UPDATED, UserChangeType.DELETED), id);
+        assertEquals(List.of(2L), logUserStore.findChangesSince(1L, 1).stream().map(UserChange::getSeq).toList());
+
+        logUserStore.close();
+        logUserStore = LogUserStore.open(directory, SEGMENT_SIZE, false, CHANGE_RETENTION);
+
+        assertChanges(List.of(UserChangeType.CREATED, UserChangeType.UPDATED, UserChangeType.DELETED), id);
+        logUserStore.save(createUser("next@test.com"));
+        assertEquals(4L, logUserStore.recordChanges(List.of(), UserChangeType.CREATED));
+    }
+
+    @Test
+    public void testCompactionKeepsLiveUsersAndRetainedChanges() throws IOException {
+        logUserStore.close();
+        Path compactedDirectory = directory.resolve("compacted");
+        logUserStore = LogUserStore.open(compactedDirectory, SEGMENT_SIZE, false, 10);
+
+        Long kept = logUserStore.save(createUser("kept@test.com")).getId();
+        Long deleted = logUserStore.save(createUser("deleted@test.com")).getId();
+        logUserStore.removeById(deleted);
+        User update = createUser("updated@test.com");
+        Long updated = logUserStore.save(update).getId();
+        for (int i = 0; i < 200; i++) {
+            logUserStore.updateById(update);
+        }
+        long lastSeq = logUserStore.recordChanges(List.of(), UserChangeType.UPDATED);
+
+        assertCompacted(compactedDirectory, kept, deleted, updated, lastSeq);
+
+        logUserStore.close();
+        logUserStore = LogUserStore.open(compactedDirectory, SEGMENT_SIZE, false, 10);
+
+        assertCompacted(compactedDirectory, kept, deleted, updated, lastSeq);
+        assertEquals(updated + 1, logUserStore.save(createUser("next@test.com")).getId());
+        assertEquals(lastSeq + 1, logUserStore.recordChanges(List.of(), UserChangeType.CREATED));
+    }
+
+    @Test
+    public void testBatchReportsRowsAppliedBeforeFailure() {
+        User oversized = createUser("oversized@test.com");
+        oversized.setName("x".repeat(SEGMENT_SIZE));
+
+        PartialBatchFailureException exception = assertThrows(
+                PartialBatchFailureException.class,
+                () -> logUserStore.batchInsert(List.of(createUser("first@test.com"), oversized, createUser("last@test.com")))
+        );
+
+        assertArrayEquals(new int[]{1, Statement.EXECUTE_FAILED, Statement.EXECUTE_FAILED}, exception.getCounts());
+        assertTrue(logUserStore.findViewByEmail("first@test.com").isPresent());
+        assertTrue(logUserStore.findViewByEmail("last@test.com").isEmpty());
+        assertEquals(1, logUserStore.findChangesSince(0L, 10).size());
+    }
+
+    private void assertChanges(List<UserChangeType> types, Long id) {
+        List<UserChange> changes = logUserStore.findChangesSince(0L, 10);
+        assertEquals(types, changes.stream().map(UserChange::getType).toList());
+        assertEquals(List.of(1L, 2L, 3L), changes.stream().map(UserChange::getSeq).toList());
+        assertTrue(changes.stream().allMatch(change -> change.getUserId().equals(id)));
+    }
+
+    private void assertCompacted(Path compactedDirectory, Long kept, Long deleted, Long updated, long lastSeq)
+            throws IOException {
+        try (Stream<Path> segments = Files.list(compactedDirectory)) {
+            assertTrue(segments.count() < 4);
+        }
+        assertEquals(Optional.of(0L), logUserStore.findVersionById(kept));
+        assertTrue(logUserStore.findViewById(deleted).isEmpty());
+        assertEquals(Optional.of(200L), logUserStore.findVersionById(updated));
+
+        List<UserChange> changes = logUserStore.findChangesSince(0L, 1000);
+        assertEquals(kept, changes.get(0).getUserId());
+        assertEquals(1L, changes.get(0).getSeq());
+        List<Long> retainedSeqs = LongStream.rangeClosed(lastSeq - 9, lastSeq).boxed().toList();
+        assertEquals(retainedSeqs, changes.subList(changes.size() - 10, changes.size()).stream().map(UserChange::getSeq).toList());
+        assertTrue(changes.stream().noneMatch(change -> change.getUserId().equals(deleted)));
+    }
+}
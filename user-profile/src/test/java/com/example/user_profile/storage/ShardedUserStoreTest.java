@@ -0,0 +1,169 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.entities.UserChange;
+import com.example.user_profile.entities.UserChangeType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+public class ShardedUserStoreTest extends UserStoreContractTest {
+    private static final int SHARD_COUNT = 3;
+
+    @TempDir
+    private Path directory;
+
+    private ShardedUserStore shardedUserStore;
+
+    @BeforeEach
+    public void openStore() throws IOException {
+        shardedUserStore = ShardedUserStore.open(directory, SHARD_COUNT, 2, false);
+    }
+
+    @AfterEach
+    public void closeStore() {
+        shardedUserStore.close();
+    }
+
+    @Override
+    protected UserStore userStore() {
+        return shardedUserStore;
+    }
+
+    @Test
+    public void testUsersAreSpreadAcrossShards() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add(shardedUserStore.save(createUser("user" + i + "@test.com")).getId());
+        }
+
+        assertEquals(3, ids.stream().map(id -> ShardedUserStore.shardIndex(id, SHARD_COUNT)).distinct().count());
+        assertEquals(ids, shardedUserStore.findViewsAfter(0L, ALL_FIELDS, 100).stream().map(UserView::id).toList());
+    }
+
+    @Test
+    public void testEmailChangeIsUniqueAcrossShards() {
+        User firstUser = shardedUserStore.save(createUser("first@test.com"));
+        User secondUser = shardedUserStore.save(createUser("second@test.com"));
+        User update = createUser("first@test.com");
+        update.setId(secondUser.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> shardedUserStore.updateById(update));
+        assertEquals(secondUser.getId(), shardedUserStore.findViewByEmail("second@test.com").get().id());
+        assertEquals(firstUser.getId(), shardedUserStore.findViewByEmail("first@test.com").get().id());
+
+        update.setEmail("renamed@test.com");
+        assertEquals(1, shardedUserStore.updateById(update));
+        assertTrue(shardedUserStore.findViewByEmail("second@test.com").isEmpty());
+        assertNotNull(shardedUserStore.insertIfAbsent(createUser("second@test.com")));
+    }
+
+    @Test
+    public void testRebalanceOnShardCountChange() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(shardedUserStore.save(createUser("user" + i + "@test.com")).getId());
+        }
+        shardedUserStore.close();
+
+        assertThrows(IllegalStateException.class, () -> ShardedUserStore.open(directory, 5, 2, false));
+
+        shardedUserStore = ShardedUserStore.open(directory, 5, 2, true);
+        assertEquals(ids, shardedUserStore.findViewsAfter(0L, ALL_FIELDS, 100).stream().map(UserView::id).toList());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(ids.get(i), shardedUserStore.findViewByEmail("user" + i + "@test.com").get().id());
+        }
+        shardedUserStore.close();
+
+        shardedUserStore = ShardedUserStore.open(directory, 2, 2, true);
+        assertEquals(ids, shardedUserStore.findViewsAfter(0L, ALL_FIELDS, 100).stream().map(UserView::id).toList());
+        assertTrue(shardedUserStore.existsById(ids.get(49)));
+        assertFalse(Files.exists(directory.resolve("users-shard-4.db")));
+    }
+
+    @Test
+    public void testRestoringUsersTwiceKeepsFacetCounts() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:sqlite:" + directory.resolve("restore.db"));
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        JdbcUserStore jdbcUserStore = new JdbcUserStore(dataSource);
+        List<UserView> users = List.of(
+                new UserView(1L, "Firstname Lastname", "first@test.com", "male", LocalDate.of(2005, 1, 1), "user", 0L),
+                new UserView(2L, "Firstname Lastname", "second@test.com", "female", LocalDate.of(2005, 1, 1), "admin", 3L)
+        );
+
+        jdbcUserStore.batchRestore(users);
+        jdbcUserStore.batchRestore(users);
+
+        assertEquals(
+                Map.of("gender", Map.of("female", 1L, "male", 1L), "role", Map.of("admin", 1L, "user", 1L)),
+                jdbcUserStore.countFacets()
+        );
+        assertEquals(Optional.of(3L), jdbcUserStore.findVersionById(2L));
+    }
+
+    @Test
+    public void testBatchInsertReleasesReservationsOfFailedShard() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("users-shard-1.db"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE user RENAME TO user_unavailable");
+        }
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            users.add(createUser("user" + i + "@test.com"));
+        }
+
+        PartialBatchFailureException exception =
+                assertThrows(PartialBatchFailureException.class, () -> shardedUserStore.batchInsert(users));
+
+        Map<String, Long> ids = shardedUserStore.findIdsByEmails(users.stream().map(User::getEmail).toList());
+        int[] counts = exception.getCounts();
+        for (int i = 0; i < users.size(); i++) {
+            Long id = ids.get(users.get(i).getEmail());
+            if (PartialBatchFailureException.isFailed(counts[i])) {
+                assertNull(id);
+            } else {
+                assertEquals(1, counts[i]);
+                assertTrue(shardedUserStore.existsById(id));
+            }
+        }
+        assertTrue(ids.size() < users.size());
+    }
+
+    @Test
+    public void testChangeFeedIsStoredInTheDirectory() {
+        assertEquals(2L, shardedUserStore.recordChanges(List.of(7L, 8L), UserChangeType.CREATED));
+        assertEquals(3L, shardedUserStore.recordChanges(List.of(7L), UserChangeType.DELETED));
+
+        List<UserChange> changes = shardedUserStore.findChangesSince(1L, 10);
+        assertEquals(List.of(2L, 3L), changes.stream().map(UserChange::getSeq).toList());
+        assertEquals(List.of(8L, 7L), changes.stream().map(UserChange::getUserId).toList());
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.DELETED), changes.stream().map(UserChange::getType).toList());
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.user_profile.storage;
+
+import com.example.user_profile.dtos.UserField;
+import com.example.user_profile.dtos.UserView;
+import com.example.user_profile.entities.User;
+import com.example.user_profile.repositories.UserSearchCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public abstract class UserStoreContractTest {
+    protected static final Set<UserField> ALL_FIELDS = EnumSet.allOf(UserField.class);
+
+    protected abstract UserStore userStore();
+
+    protected <T> T inTransaction(Supplier<T> action) {
+        return action.get();
+    }
+
+    protected User createUser(String email) {
+        User user = new User();
+        user.setName("Firstname Lastname");
+        user.setEmail(email);
+        user.setGender("male");
+        user.setBirthDate(LocalDate.of(2005, 1, 1));
+        user.setRole("user");
+        return user;
+    }
+
+    @Test
+    public void testFindViewByIdAndEmail() {
+        User user = userStore().save(createUser("fullname@test.com"));
+
+        Optional<UserView> byId = userStore().findViewById(user.getId());
+        assertTrue(byId.isPresent());
+        assertEquals(user.getBirthDate(), byId.get().birthDate());
+        assertEquals(0L, byId.get().version());
+        assertEquals(byId, userStore().findViewByEmail(user.getEmail()));
+        assertEquals(Optional.of(0L), userStore().findVersionById(user.getId()));
+        assertTrue(userStore().existsById(user.getId()));
+    }
+
+    @Test
+    public void testInsertIfAbsent() {
+        Long id = userStore().insertIfAbsent(createUser("fullname@test.com"));
+
+        assertEquals("fullname@test.com", userStore().findViewById(id).get().email());
+        assertNull(userStore().insertIfAbsent(createUser("fullname@test.com")));
+        assertTrue(userStore().findViewsAfter(id, ALL_FIELDS, 10).isEmpty());
+    }
+
+    @Test
+    public void testFindViewsByName() {
+        for (int i = 1; i <= 5; i++) {
+            userStore().save(createUser("user" + i + "@test.com"));
+        }
+
+        Pageable pageable = PageRequest.of(0, 3);
+        Slice<UserView> result = userStore().findViewsByName("Firstname Lastname", ALL_FIELDS, pageable);
+        assertEquals(3, result.getContent().size());
+        assertTrue(result.hasNext());
+
+        Slice<UserView> lastSlice = userStore().findViewsByName("Firstname Lastname", ALL_FIELDS, pageable.next());
+        assertEquals(2, lastSlice.getContent().size());
+        assertFalse(lastSlice.hasNext());
+    }
+
+    @Test
+    public void testSearchByNamePrefix() {
+        String[] names = {"Alice Smith", "alice Jones", "Alicia Keys", "Bob Alice", "Al_ice"};
+        for (int i = 0; i < names.length; i++) {
+            User user = createUser("user" + i + "@test.com");
+            user.setName(names[i]);
+            userStore().save(user);
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria("ALICE", null, null, null, null);
+        Slice<UserView> result = userStore().search(criteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(List.of("alice Jones", "Alice Smith"), result.getContent().stream().map(UserView::name).toList());
+
+        UserSearchCriteria escapedCriteria = new UserSearchCriteria("al_", null, null, null, null);
+        Slice<UserView> escapedResult = userStore().search(escapedCriteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(List.of("Al_ice"), escapedResult.getContent().stream().map(UserView::name).toList());
+    }
+
+    @Test
+    public void testSearchByBirthDateRange() {
+        int[] birthYears = {2010, 1990, 1980, 2000};
+        for (int i = 0; i < birthYears.length; i++) {
+            User user = createUser("user" + i + "@test.com");
+            user.setBirthDate(LocalDate.of(birthYears[i], 6, 1));
+            userStore().save(user);
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria(null, LocalDate.of(1985, 1, 1), LocalDate.of(2005, 1, 1), null, null);
+        Slice<UserView> result = userStore().search(criteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(
+                List.of(LocalDate.of(1990, 6, 1), LocalDate.of(2000, 6, 1)),
+                result.getContent().stream().map(UserView::birthDate).toList()
+        );
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    public void testSearchByRoleAndGender() {
+        String[][] facets = {{"admin", "female"}, {"user", "female"}, {"admin", "male"}, {"admin", "female"}};
+        for (int i = 0; i < facets.length; i++) {
+            User user = createUser("user" + i + "@test.com");
+            user.setRole(facets[i][0]);
+            user.setGender(facets[i][1]);
+            userStore().save(user);
+        }
+
+        UserSearchCriteria criteria = new UserSearchCriteria(null, null, null, "admin", "female");
+        Slice<UserView> result = userStore().search(criteria, ALL_FIELDS, PageRequest.of(0, 10));
+        assertEquals(List.of("user0@test.com", "user3@test.com"), result.getContent().stream().map(UserView::email).toList());
+
+        UserSearchCriteria roleCriteria = new UserSearchCriteria(null, null, null, "admin", null);
+        assertEquals(3, userStore().search(roleCriteria, ALL_FIELDS, PageRequest.of(0, 10)).getContent().size());
+    }
+
+    @Test
+    public void testCountFacetsFollowsWrites() {
+        User admin = createUser("admin@test.com");
+        admin.setRole("admin");
+        User firstUser = userStore().save(createUser("first@test.com"));
+        User savedAdmin = userStore().save(admin);
+        userStore().batchInsert(List.of(createUser("second@test.com"), createUser("third@test.com")));
+
+        User promotedUser = createUser("first@test.com");
+        promotedUser.setId(firstUser.getId());
+        promotedUser.setRole("admin");
+        promotedUser.setGender("female");
+        userStore().updateById(promotedUser);
+        userStore().removeById(savedAdmin.getId());
+
+        assertEquals(
+                Map.of("role", Map.of("admin", 1L, "user", 2L), "gender", Map.of("female", 1L, "male", 2L)),
+                userStore().countFacets()
+        );
+    }
+
+    @Test
+    public void testFindViewsAfterSelectsRequestedFields() {
+        for (int i = 0; i < 3; i++) {
+            userStore().save(createUser("user" + i + "@test.com"));
+        }
+        Long firstId = userStore().findViewsAfter(0L, EnumSet.of(UserField.ID), 1).get(0).id();
+
+        List<UserView> result = userStore().findViewsAfter(firstId, EnumSet.of(UserField.ID, UserField.EMAIL), 10);
+        assertEquals(List.of("user1@test.com", "user2@test.com"), result.stream().map(UserView::email).toList());
+        assertTrue(result.stream().allMatch(user -> user.name() == null && user.birthDate() == null));
+    }
+
+    @Test
+    public void testIdsAreNotReusedAfterRemoval() {
+        userStore().save(createUser("first@test.com"));
+        User removedUser = userStore().save(createUser("second@test.com"));
+        userStore().removeById(removedUser.getId());
+
+        User user = userStore().save(createUser("third@test.com"));
+        assertTrue(user.getId() > removedUser.getId());
+    }
+
+    @Test
+    public void testStreamViewsInIdOrder() {
+        for (int i = 0; i < 3; i++) {
+            userStore().save(createUser("user" + i + "@test.com"));
+        }
+
+        List<String> emails = inTransaction(() -> {
+            try (Stream<UserView> users = userStore().streamViews(EnumSet.of(UserField.EMAIL))) {
+                return users.map(UserView::email).toList();
+            }
+        });
+        assertEquals(List.of("user0@test.com", "user1@test.com", "user2@test.com"), emails);
+    }
+
+    @Test
+    public void testUpdateByIdAndVersion() {
+        User user = userStore().save(createUser("fullname@test.com"));
+        User update = createUser("renamed@test.com");
+        update.setId(user.getId());
+        update.setVersion(0L);
+
+        assertEquals(1, userStore().updateByIdAndVersion(update));
+        assertEquals(0, userStore().updateByIdAndVersion(update));
+        assertEquals(Optional.of(1L), userStore().findVersionById(user.getId()));
+        assertTrue(userStore().findViewByEmail("fullname@test.com").isEmpty());
+        assertEquals(user.getId(), userStore().findViewByEmail("renamed@test.com").get().id());
+
+        update.setId(user.getId() + 100);
+        assertEquals(0, userStore().updateById(update));
+    }
+
+    @Test
+    public void testRemoveById() {
+        User user = userStore().save(createUser("fullname@test.com"));
+
+        assertEquals(1, userStore().removeById(user.getId()));
+        assertEquals(0, userStore().removeById(user.getId()));
+        assertFalse(userStore().existsById(user.getId()));
+        assertTrue(userStore().findViewByEmail(user.getEmail()).isEmpty());
+    }
+
+    @Test
+    public void testBatchInsertIgnoresDuplicateEmails() {
+        User firstUser = createUser("fullname@test.com");
+        User secondUser = createUser("other@test.com");
+        User duplicateUser = createUser("fullname@test.com");
+
+        int[] counts = userStore().batchInsert(List.of(firstUser, secondUser, duplicateUser));
+
+        assertArrayEquals(new int[]{1, 1, 0}, counts);
+        Map<String, Long> ids = userStore().findIdsByEmails(List.of(firstUser.getEmail(), secondUser.getEmail()));
+        assertEquals(2, ids.size());
+        assertEquals(Set.of(ids.get(secondUser.getEmail())), userStore().findExistingIds(List.of(ids.get(secondUser.getEmail()), -1L)));
+    }
+
+    @Test
+    public void testBatchUpsertSkipsUnchangedRows() {
+        userStore().batchInsert(List.of(createUser("first@test.com"), createUser("second@test.com")));
+        User renamedUser = createUser("second@test.com");
+        renamedUser.setName("Renamed");
+
+        int[] counts = userStore().batchUpsert(List.of(createUser("first@test.com"), renamedUser, createUser("third@test.com")));
+
+        assertArrayEquals(new int[]{0, 1, 1}, counts);
+        assertEquals(0L, userStore().findViewByEmail("first@test.com").get().version());
+        assertEquals("Renamed", userStore().findViewByEmail("second@test.com").get().name());
+        assertEquals(1L, userStore().findViewByEmail("second@test.com").get().version());
+        assertTrue(userStore().findViewByEmail("third@test.com").isPresent());
+    }
+
+    @Test
+    public void testBatchUpdateAndDelete() {
+        userStore().batchInsert(List.of(createUser("first@test.com"), createUser("second@test.com")));
+        Map<String, Long> ids = userStore().findIdsByEmails(List.of("first@test.com", "second@test.com"));
+
+        User staleUser = createUser("first@test.com");
+        staleUser.setId(ids.get("first@test.com"));
+        staleUser.setVersion(5L);
+        User conflictingUser = createUser("first@test.com");
+        conflictingUser.setId(ids.get("second@test.com"));
+        User renamedUser = createUser("second@test.com");
+        renamedUser.setId(ids.get("second@test.com"));
+        renamedUser.setName("Renamed");
+
+        assertArrayEquals(new int[]{0, 0, 1}, userStore().batchUpdate(List.of(staleUser, conflictingUser, renamedUser)));
+        assertEquals("Renamed", userStore().findViewById(ids.get("second@test.com")).get().name());
+        assertArrayEquals(new int[]{1, 0}, userStore().batchDelete(List.of(ids.get("first@test.com"), -1L)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.user_profile.validators;
+
+import com.example.user_profile.entities.User;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ActiveProfiles("test")
+public class UserValidatorTest {
+    private final Validator validator = spy(Validation.buildDefaultValidatorFactory().getValidator());
+
+    private final UserValidator userValidator = new UserValidator(validator);
+
+    private User createUser() {
+        User user = new User();
+        user.setName("Firstname Lastname");
+        user.setEmail("fullname@test.com");
+        user.setGender("male");
+        user.setBirthDate(LocalDate.of(2005, 1, 1));
+        user.setRole("user");
+        return user;
+    }
+
+    @Test
+    public void testValidUserSkipsFullValidation() {
+        User user = createUser();
+
+        assertDoesNotThrow(() -> userValidator.validate(user));
+        verify(validator, never()).validate(any(User.class));
+    }
+
+    @Test
+    public void testInvalidUserReportsAllViolations() {
+        User user = createUser();
+        user.setName(null);
+        user.setRole(null);
+
+        ConstraintViolationException thrown = assertThrows(ConstraintViolationException.class, () -> {
+            userValidator.validate(user);
+        });
+
+        assertEquals(2, thrown.getConstraintViolations().size());
+        verify(validator, times(1)).validate(user);
+    }
+}
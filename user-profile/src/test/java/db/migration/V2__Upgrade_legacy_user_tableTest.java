@@ -0,0 +1,95 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+public class V2__Upgrade_legacy_user_tableTest {
+    @TempDir
+    private Path directory;
+
+    private String url() {
+        return "jdbc:sqlite:" + directory.resolve("users.db");
+    }
+
+    private MigrateResult migrate() {
+        return Flyway.configure()
+                .dataSource(url(), null, null)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    private Set<String> userColumns(Statement statement) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (ResultSet resultSet = statement.executeQuery("SELECT name FROM pragma_table_info('user')")) {
+            while (resultSet.next()) columns.add(resultSet.getString("name"));
+        }
+        return columns;
+    }
+
+    @Test
+    public void testUpgradesLegacySchemaCreatedByHibernate() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table user (id integer, age integer not null, birth_date date not null, "
+                    + "email varchar(255) not null unique, gender varchar(255) not null, name varchar(255) not null, "
+                    + "role varchar(255) not null, primary key (id))");
+            statement.execute("insert into user (age, birth_date, email, gender, name, role) "
+                    + "values (21, '2005-01-01', 'fullname@test.com', 'male', 'Firstname Lastname', 'user')");
+        }
+
+        migrate();
+
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            Set<String> columns = userColumns(statement);
+            assertTrue(columns.contains("version"));
+            assertFalse(columns.contains("age"));
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT email, version FROM user")) {
+                assertTrue(resultSet.next());
+                assertEquals("fullname@test.com", resultSet.getString("email"));
+                assertEquals(0L, resultSet.getLong("version"));
+            }
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT count FROM user_facet_count WHERE facet = 'role' AND value = 'user'")) {
+                assertTrue(resultSet.next());
+                assertEquals(1L, resultSet.getLong("count"));
+            }
+        }
+        assertEquals(0, migrate().migrationsExecuted);
+    }
+
+    @Test
+    public void testLeavesCurrentSchemaUnchanged() throws SQLException {
+        migrate();
+
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            Set<String> columns = userColumns(statement);
+            assertEquals(
+                    Set.of("id", "birth_date", "email", "gender", "name", "role", "version"),
+                    columns
+            );
+        }
+    }
+}